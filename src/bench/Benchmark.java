@@ -0,0 +1,151 @@
+package bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark — ตัววัดประสิทธิภาพขนาดเล็กแบบไม่ต้องพึ่งไลบรารีภายนอก (ยืมแนวคิดจาก JMH แต่ไม่ใช่ JMH)
+ * แต่ละรายการจะ warmup ก่อน แล้ววัดหลายรอบ รายงาน ops/s (ค่าเฉลี่ย และส่วนเบี่ยงเบนมาตรฐานระหว่างรอบ)
+ * เวลาเฉลี่ยต่อครั้ง ไบต์ที่จองต่อครั้ง (เทียบเท่า gc.alloc.rate.norm ของ -prof gc) และจำนวน/เวลา GC
+ *
+ * ตัวเลขใช้เทียบก่อน/หลังบนเครื่องเดียวกันเท่านั้น ไม่ได้แม่นระดับ JMH: รันใน JVM เดียว (ไม่ fork)
+ * ไม่มี Blackhole ไม่คุม dead-code elimination เต็มที่ และ stddev ไม่ใช่ช่วงความเชื่อมั่น 99.9% แบบ JMH
+ *
+ * ปรับรอบได้ด้วย -Dbench.warmup=5 -Dbench.iterations=5 -Dbench.millis=500
+ */
+public final class Benchmark {
+
+    // ผลของหนึ่งรายการ
+    public record Result(String name, double opsPerSecond, double stddev, double nanosPerOp,
+                         double bytesPerOp, long gcCount, long gcMillis) {}
+
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 5);
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5);
+    private static final long ITERATION_NANOS = Long.getLong("bench.millis", 500L) * 1_000_000L;
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final List<Pattern> filters = new ArrayList<>();
+    private final List<Result> results = new ArrayList<>();
+
+    // args = regex สำหรับเลือกรายการที่ต้องการรัน (ว่าง = รันทั้งหมด)
+    public Benchmark(String... args) {
+        for (String arg : args) {
+            if (!arg.startsWith("-")) filters.add(Pattern.compile(arg));
+        }
+    }
+
+    // วัดหนึ่งรายการ op คืนค่าใดก็ได้เพื่อกัน JIT ตัดโค้ดทิ้ง
+    public void run(String name, LongSupplier op) {
+        if (!selected(name)) return;
+
+        for (int i = 0; i < WARMUP; i++) iteration(op);
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcMillis();
+        double[] rates = new double[ITERATIONS];
+        long totalOps = 0, totalNanos = 0, totalBytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long bytesBefore = allocatedBytes();
+            long[] measured = iteration(op);
+            totalBytes += allocatedBytes() - bytesBefore;
+            totalOps += measured[0];
+            totalNanos += measured[1];
+            rates[i] = measured[0] * 1e9 / measured[1];
+        }
+
+        double mean = 0;
+        for (double rate : rates) mean += rate;
+        mean /= rates.length;
+        double variance = 0;
+        for (double rate : rates) variance += (rate - mean) * (rate - mean);
+        double stddev = rates.length > 1 ? Math.sqrt(variance / (rates.length - 1)) : 0;
+
+        Result result = new Result(name, mean, stddev, totalNanos / (double) totalOps,
+                totalBytes < 0 ? Double.NaN : totalBytes / (double) totalOps,
+                gcCount() - gcCountBefore, gcMillis() - gcTimeBefore);
+        results.add(result);
+        System.out.println(format(result));
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    // พิมพ์ผลทั้งหมดแบบ CSV (ใช้เทียบผลระหว่าง commit)
+    public void printCsv() {
+        System.out.println("name,ops_per_s,stddev,ns_per_op,bytes_per_op,gc_count,gc_ms");
+        for (Result r : results) {
+            System.out.printf(Locale.ROOT, "%s,%.3f,%.3f,%.1f,%.1f,%d,%d%n", r.name(), r.opsPerSecond(),
+                    r.stddev(), r.nanosPerOp(), r.bytesPerOp(), r.gcCount(), r.gcMillis());
+        }
+    }
+
+    public static String header() {
+        return String.format(Locale.ROOT, "%-44s %14s %10s %12s %12s %5s %6s",
+                "Benchmark", "ops/s", "stddev", "ns/op", "B/op", "GCs", "GC ms");
+    }
+
+    private static String format(Result r) {
+        return String.format(Locale.ROOT, "%-44s %14.1f %10.1f %12.1f %12.1f %5d %6d", r.name(),
+                r.opsPerSecond(), r.stddev(), r.nanosPerOp(), r.bytesPerOp(), r.gcCount(), r.gcMillis());
+    }
+
+    // รัน op ซ้ำจนครบเวลาของหนึ่งรอบ คืน {จำนวนครั้ง, นาโนวินาทีที่ใช้}
+    private static long[] iteration(LongSupplier op) {
+        long ops = 0;
+        long sink = 0;
+        long start = System.nanoTime();
+        long end = start + ITERATION_NANOS;
+        long now;
+        do {
+            sink += op.getAsLong();
+            ops++;
+        } while ((now = System.nanoTime()) < end);
+        Blackhole.consume(sink);
+        return new long[]{ops, now - start};
+    }
+
+    private boolean selected(String name) {
+        if (filters.isEmpty()) return true;
+        for (Pattern filter : filters) {
+            if (filter.matcher(name).find()) return true;
+        }
+        return false;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    // JVM ที่ไม่ใช่ HotSpot อาจไม่มี ThreadMXBean แบบนับไบต์ที่จอง ให้รายงานเป็น NaN แทน
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
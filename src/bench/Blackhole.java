@@ -0,0 +1,20 @@
+package bench;
+
+/**
+ * Blackhole — ที่ทิ้งผลลัพธ์ของ benchmark เพื่อไม่ให้ JIT มองว่าโค้ดไม่มีผลแล้วตัดทิ้ง
+ */
+public final class Blackhole {
+
+    private static volatile long sink;
+
+    private Blackhole() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    public static void consume(long value) {
+        // เขียน volatile เฉพาะกรณีที่แทบไม่เกิด แต่ JIT พิสูจน์ไม่ได้ จึงต้องคำนวณค่าจริง
+        if (value == 0x5DEECE66DL) sink = value;
+    }
+
+    public static void consume(Object value) {
+        consume(System.identityHashCode(value));
+    }
+}
@@ -0,0 +1,224 @@
+package bench;
+
+import entity.Monster;
+import entity.Player;
+import entity.ProjectileSystem;
+import java.awt.Graphics2D;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import main.GamePanel;
+import system.AssetLoader;
+import system.Config;
+import system.Level;
+import system.LightMask;
+import system.SpatialGrid;
+import system.Lighting;
+import system.Lighting.LightSource;
+import system.TickClock;
+
+/**
+ * FrameBenchmarks — ชุด benchmark ของเส้นทางที่ถูกเรียกทุกเฟรม
+ * (mask แสง, ตรวจจุดสว่าง, อัปเดตมอน, อัปเดตกระสุน, สุ่มด่าน, วาดทั้งเฟรมลง BufferedImage)
+ *
+ * รันจากรากโปรเจกต์ (ต้องเห็นโฟลเดอร์ Pic):
+ *   javac -encoding UTF-8 -d bin $(find src -name '*.java')
+ *   java -Djava.awt.headless=true -cp bin bench.FrameBenchmarks [regex ...] [--csv]
+ */
+public final class FrameBenchmarks {
+
+    private static final int[][] RESOLUTIONS = {{800, 600}, {1280, 720}, {1920, 1080}};
+    private static final int[] LIGHT_COUNTS = {1, 8, 32};
+    private static final int[] MONSTER_COUNTS = {3, 30, 300};
+    private static final int[] PROJECTILE_COUNTS = {30, 300, 3000};
+    private static final int[] DOOR_COUNTS = {6, 24, 96};
+
+    private FrameBenchmarks() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    public static void main(String[] args) {
+        AssetLoader.loadAllAsync().join();
+        Benchmark bench = new Benchmark(args);
+        System.out.println(Benchmark.header());
+
+        lighting(bench);
+        monsters(bench);
+        projectiles(bench);
+        levels(bench);
+        paint(bench);
+
+        for (String arg : args) {
+            if (arg.equals("--csv")) bench.printCsv();
+        }
+        System.exit(0); // ปิดเธรดเบื้องหลังของ Swing/AssetLoader
+    }
+
+    // Lighting.createMask (สร้างใหม่ทุกเฟรม) เทียบกับ LightMask.render (ใช้บัฟเฟอร์ซ้ำ) และ isPointLit
+    private static void lighting(Benchmark bench) {
+        for (int[] res : RESOLUTIONS) {
+            for (int count : LIGHT_COUNTS) {
+                List<LightSource> lights = randomLights(count, res[0], res[1]);
+                String suffix = String.format("%dx%d/%d", res[0], res[1], count);
+
+                bench.run("Lighting.createMask " + suffix,
+                        () -> Lighting.createMask(res[0], res[1], lights).getRGB(0, 0));
+
+                LightMask mask = new LightMask(res[0], res[1]);
+                bench.run("LightMask.render " + suffix, () -> mask.render(lights).getRGB(0, 0));
+            }
+        }
+
+        List<LightSource> lights = randomLights(32, 1280, 720);
+        Random random = new Random(7);
+        bench.run("Lighting.isPointLit 32", () -> Lighting.isPointLit(
+                random.nextInt(1280), random.nextInt(720), lights) ? 1 : 0);
+
+        SpatialGrid grid = new SpatialGrid(Config.SPATIAL_CELL_SIZE);
+        Lighting.index(lights, grid, 1280, 720);
+        bench.run("Lighting.isPointLit grid 32", () -> Lighting.isPointLit(
+                random.nextInt(1280), random.nextInt(720), lights, grid) ? 1 : 0);
+    }
+
+    // Monster.updateAll กับมอนจำนวน N ตัว (ทุกประเภทวนกันไป)
+    private static void monsters(Benchmark bench) {
+        for (int count : MONSTER_COUNTS) {
+            TickClock clock = new TickClock(Config.TICK_RATE);
+            Level level = new Level(Config.DOOR_PER_LEVEL, Config.DOOR_SIZE);
+            level.reset(1280, 720);
+            Player player = spawnPlayer(1280, 720);
+
+            SplittableRandom random = new SplittableRandom(42);
+            Monster.AttackType[] types = Monster.AttackType.values();
+            List<Monster> monsters = new ArrayList<>(count);
+            ProjectileSystem projectiles = new ProjectileSystem();
+            for (int i = 0; i < count; i++) {
+                Monster monster = new Monster(types[i % types.length]);
+                monster.setProjectiles(projectiles);
+                monster.setActiveLevels(0);
+                monster.prepareForLevel(0, random.split(), 1280, 720, clock);
+                monsters.add(monster);
+            }
+
+            bench.run("Monster.updateAll " + count, () -> {
+                clock.tick();
+                projectiles.update(player, 1280, 720);
+                Monster.updateAll(monsters, player, level, clock);
+                return monsters.get(0).getX();
+            });
+        }
+    }
+
+    // อัปเดตกระสุน N ลูก: อ็อบเจกต์ละลูก (แบบเดิมของ ShootAttack) เทียบกับ ProjectileSystem (ลูกที่หมดระยะจะถูกยิงใหม่)
+    private static void projectiles(Benchmark bench) {
+        for (int count : PROJECTILE_COUNTS) {
+            Player player = spawnPlayer(1280, 720);
+            Random random = new Random(42);
+            Projectile[] projectiles = new Projectile[count];
+            for (int i = 0; i < count; i++) projectiles[i] = randomProjectile(random);
+
+            bench.run("Projectile.update " + count, () -> {
+                long live = 0;
+                for (int i = 0; i < projectiles.length; i++) {
+                    projectiles[i].update(player, 1280, 720);
+                    if (projectiles[i].isActive()) {
+                        live++;
+                    } else {
+                        projectiles[i] = randomProjectile(random);
+                    }
+                }
+                return live;
+            });
+
+            // แบบ struct-of-arrays ที่เกมใช้จริง: ลูปเดียว ลบด้วย swap-remove แล้วเติมให้ครบ N
+            ProjectileSystem system = new ProjectileSystem();
+            for (int i = 0; i < count; i++) spawnRandom(system, random);
+            bench.run("ProjectileSystem.update " + count, () -> {
+                system.update(player, 1280, 720);
+                while (system.size() < count) spawnRandom(system, random);
+                return system.size();
+            });
+        }
+    }
+
+    // Level.reset (รวม buildDoorPositions) ตามจำนวนประตู
+    private static void levels(Benchmark bench) {
+        for (int count : DOOR_COUNTS) {
+            Level level = new Level(count, Config.DOOR_SIZE, 42);
+            bench.run("Level.reset doors=" + count, () -> {
+                level.reset(1920, 1080);
+                return level.getDoors().size();
+            });
+
+            Player player = spawnPlayer(1920, 1080);
+            bench.run("Level.detectDoorCollision doors=" + count,
+                    () -> level.detectDoorCollision(player) != null ? 1 : 0);
+        }
+
+        // แผนที่ใหญ่ ประตูหลายร้อยบาน (วางแบบ Poisson-disk ได้ครบโดยไม่ต้องลดระยะ)
+        Level large = new Level(500, Config.DOOR_SIZE, 42);
+        bench.run("Level.reset doors=500 4096x4096", () -> {
+            large.reset(4096, 4096);
+            return large.getDoorSpacing();
+        });
+    }
+
+    // วาดทั้งเฟรม (paintComponent) ลง BufferedImage ทั้งหน้าเมนูและระหว่างเล่น
+    private static void paint(Benchmark bench) {
+        for (int[] res : RESOLUTIONS) {
+            GamePanel panel = new GamePanel();
+            panel.setSize(res[0], res[1]);
+            panel.setGameSize(res[0], res[1]);
+            panel.tick(); // สร้างโลกของเกม
+            BufferedImage target = new BufferedImage(res[0], res[1], BufferedImage.TYPE_INT_RGB);
+            String suffix = res[0] + "x" + res[1];
+
+            bench.run("GamePanel.paint menu " + suffix, () -> paintOnce(panel, target));
+
+            // ส่ง ENTER เข้า listener ตรง ๆ (dispatchEvent จะส่งต่อให้ component ที่มีโฟกัส ซึ่งไม่มีในโหมด headless)
+            KeyEvent enter = new KeyEvent(panel, KeyEvent.KEY_PRESSED, System.currentTimeMillis(),
+                    0, KeyEvent.VK_ENTER, '\n');
+            for (KeyListener listener : panel.getKeyListeners()) listener.keyPressed(enter);
+            panel.tick();
+            bench.run("GamePanel.paint game " + suffix, () -> {
+                panel.tick();
+                return paintOnce(panel, target);
+            });
+        }
+    }
+
+    private static long paintOnce(GamePanel panel, BufferedImage target) {
+        Graphics2D g = target.createGraphics();
+        panel.paint(g);
+        g.dispose();
+        return target.getRGB(0, 0);
+    }
+
+    private static List<LightSource> randomLights(int count, int width, int height) {
+        Random random = new Random(count * 31L + width);
+        List<LightSource> lights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lights.add(new LightSource(random.nextInt(width), random.nextInt(height), 80 + random.nextInt(120)));
+        }
+        return lights;
+    }
+
+    private static Projectile randomProjectile(Random random) {
+        double angle = random.nextDouble() * Math.PI * 2;
+        return new Projectile(random.nextInt(1280), random.nextInt(720), Math.cos(angle), Math.sin(angle));
+    }
+
+    private static void spawnRandom(ProjectileSystem system, Random random) {
+        double angle = random.nextDouble() * Math.PI * 2;
+        system.spawn(random.nextInt(1280), random.nextInt(720), Math.cos(angle), Math.sin(angle));
+    }
+
+    private static Player spawnPlayer(int width, int height) {
+        Player player = new Player();
+        player.updateBounds(width, height);
+        player.spawn();
+        return player;
+    }
+}
@@ -1,27 +1,31 @@
-package entity;
+package bench;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import entity.Monster;
+import entity.Player;
 import java.awt.image.BufferedImage;
+import system.AtlasRegion;
+import system.SpriteCache;
 
 /**
- * จัดการกระสุนพลังงานของมอนสเตอร์สายยิง
- * ใช้ sprite summonIdle.png (4 เฟรม ขนาด 50x50)
+ * กระสุนแบบหนึ่งอ็อบเจกต์ต่อหนึ่งลูก (แบบเดิมก่อนมี ProjectileSystem)
+ * เกมไม่ได้ใช้คลาสนี้แล้ว เก็บไว้เป็น baseline ให้ FrameBenchmarks เทียบกับ ProjectileSystem เท่านั้น
  */
 
-public class Projectile {
+final class Projectile {
     private static final double SPEED = 6.0;
     private static final double MAX_DISTANCE = 640.0;
     private static final int FRAME_DELAY = 5;
     private static final BufferedImage[] FRAMES =
             Monster.gMonsterAnimator().get("summonIdle");
-    private static final int BASE_FRAME_SIZE =
-            (FRAMES.length > 0 ? FRAMES[0].getWidth() : 50);
-    private static final int TARGET_DRAW_SIZE = 50; // ขนาดจริงที่อยากให้เห็นบนจอ (pixel)
-    private static final int DRAW_SIZE = TARGET_DRAW_SIZE;
+    private static final int DRAW_SIZE = 50; // เท่ากับ ProjectileSystem เพื่อให้เทียบกันตรง ๆ
+    private static final AtlasRegion[] DRAW_FRAMES = SpriteCache.frames(FRAMES, DRAW_SIZE, DRAW_SIZE, false);
 
     private double x;
     private double y;
+    private double prevX; // ตำแหน่งเมื่อ tick ก่อนหน้า (ใช้ interpolate ตอนวาด)
+    private double prevY;
     private double dx;
     private double dy;
     private double distance;
@@ -29,9 +33,9 @@ public class Projectile {
     private int frameIndex;
     private int frameTimer;
 
-    public Projectile(double startX, double startY, double dirX, double dirY) {
-        this.x = startX;
-        this.y = startY;
+    Projectile(double startX, double startY, double dirX, double dirY) {
+        this.x = this.prevX = startX;
+        this.y = this.prevY = startY;
 
         double len = Math.hypot(dirX, dirY);
         if (len < 1e-4) {
@@ -43,9 +47,11 @@ public class Projectile {
         }
     }
 
-    public void update(Player player, int boundsW, int boundsH) {
+    void update(Player player, int boundsW, int boundsH) {
         if (!active) return;
 
+        prevX = x;
+        prevY = y;
         x += dx * SPEED;
         y += dy * SPEED;
         distance += SPEED;
@@ -79,15 +85,16 @@ public class Projectile {
         }
     }
 
-    public void draw(Graphics2D g) {
+    void draw(Graphics2D g, float alpha) {
         if (!active) return;
 
-        int drawX = (int) Math.round(x - DRAW_SIZE / 2.0);
-        int drawY = (int) Math.round(y - DRAW_SIZE / 2.0);
+        double renderX = prevX + (x - prevX) * alpha;
+        double renderY = prevY + (y - prevY) * alpha;
+        int drawX = (int) Math.round(renderX - DRAW_SIZE / 2.0);
+        int drawY = (int) Math.round(renderY - DRAW_SIZE / 2.0);
 
         if (FRAMES.length > 0) {
-            BufferedImage frame = FRAMES[frameIndex % FRAMES.length];
-            g.drawImage(frame, drawX, drawY, DRAW_SIZE, DRAW_SIZE, null);
+            DRAW_FRAMES[frameIndex % DRAW_FRAMES.length].draw(g, drawX, drawY);
             return;
         }
 
@@ -95,7 +102,7 @@ public class Projectile {
         g.fillOval(drawX, drawY, DRAW_SIZE, DRAW_SIZE);
     }
 
-    public boolean isActive() {
+    boolean isActive() {
         return active;
     }
 }
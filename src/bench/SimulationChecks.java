@@ -0,0 +1,292 @@
+package bench;
+
+import entity.Monster;
+import entity.Player;
+import entity.ProjectileSystem;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import main.GamePanel;
+import system.AssetLoader;
+import system.Config;
+import system.Door;
+import system.GameWorld;
+import system.InputRecorder;
+import system.InputReplay;
+import system.Level;
+import system.PasswordPrompt;
+
+/**
+ * SimulationChecks — ตรวจคุณสมบัติของการจำลองแบบ headless (ไม่มี framework ทดสอบ จึงรันเป็นโปรแกรม)
+ * พิมพ์ PASS/FAIL ทีละข้อ แล้ว exit code 0 = ผ่านทั้งหมด, 1 = มีข้อที่ไม่ผ่าน
+ *
+ *   java -Djava.awt.headless=true -cp bin bench.SimulationChecks
+ */
+public final class SimulationChecks {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int MAX_STEER_TICKS = 3000; // เวลาสูงสุดที่ให้ผู้เล่นเดินไปถึงประตู
+    private static final long[] SEEDS = {1, 2, 3, 4, 5, 6, 7, 8}; // ลองหลาย seed เผื่อผู้เล่นตายก่อนถึงประตู
+    private static final int ATTACK_TRACE_TICKS = 1200; // ยาวพอให้มอนยิงหลายชุด
+    private static final int NESTED_TIMER_EVENTS = 5;   // จำนวน Timer ที่ยิงเข้ามาระหว่างกล่องรหัสผ่านเปิด
+    private static final int TICKS_AFTER_PROMPTS = 60;  // เล่นต่อหลังใส่รหัสครบ ให้ผลของคำตอบอยู่ในไฟล์บันทึก
+
+    private static int failures;
+
+    private SimulationChecks() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    public static void main(String[] args) {
+        AssetLoader.loadAllAsync().join();
+
+        check("cooldowns do not expire while a password prompt is open", SimulationChecks::cooldownsPauseDuringPrompt);
+        check("the same seed gives the same monster attack sequence", SimulationChecks::attacksFollowSeed);
+        check("a recording with password entries replays without desync", SimulationChecks::passwordReplayRoundTrip);
+
+        System.out.println(failures == 0 ? "All checks passed" : failures + " check(s) failed");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    // ข้อตรวจหนึ่งข้อ: คืนข้อความอธิบายถ้าไม่ผ่าน หรือ null ถ้าผ่าน
+    private interface Check {
+        String run();
+    }
+
+    private static void check(String name, Check check) {
+        String failure;
+        try {
+            failure = check.run();
+        } catch (RuntimeException ex) {
+            failure = ex.toString();
+        }
+        if (failure == null) {
+            System.out.println("PASS " + name);
+        } else {
+            failures++;
+            System.out.println("FAIL " + name + ": " + failure);
+        }
+    }
+
+    // ระหว่างกล่องรหัสผ่านเปิด Timer ของ Swing ยังเรียก tick ซ้ำเข้ามาได้ นาฬิกาและโลกต้องไม่ขยับ
+    private static String cooldownsPauseDuringPrompt() {
+        for (long seed : SEEDS) {
+            GameWorld world = new GameWorld(WIDTH, HEIGHT, Monster.createDefaultMonsters(), PasswordPrompt.CANCEL, seed);
+            String[] failure = {null};
+            int[] prompts = {0};
+            world.setPasswordPrompt((level, hit) -> {
+                prompts[0]++;
+                long ticks = world.getClock().ticks();
+                long hash = world.stateHash();
+                // นานกว่าคูลดาวน์ของทุกท่าหลายเท่า ถ้านาฬิกาเดินคูลดาวน์จะหมดแน่นอน
+                for (int i = 0; i < 3 * Config.SHOOT_COOLDOWN_TICKS; i++) world.tick();
+                if (world.getClock().ticks() != ticks) {
+                    failure[0] = "clock moved " + (world.getClock().ticks() - ticks) + " ticks during the prompt";
+                } else if (world.stateHash() != hash) {
+                    failure[0] = "world state changed during the prompt";
+                }
+                return null;
+            });
+            walkToDoor(world, () -> prompts[0] > 0);
+            if (prompts[0] > 0) return failure[0];
+        }
+        return "player never reached a password door";
+    }
+
+    // มอนสุ่มจากสายของตัวเองเท่านั้น: seed เดียวกัน + อินพุตเดียวกัน ต้องได้การยิง (tick, ตำแหน่ง) ชุดเดียวกันทุกครั้ง
+    private static String attacksFollowSeed() {
+        for (long seed : SEEDS) {
+            List<Long> first = attackTrace(seed);
+            if (first.isEmpty()) continue; // seed นี้ไม่มีใครยิง ลองตัวถัดไป
+            List<Long> second = attackTrace(seed);
+            if (!first.equals(second)) {
+                return "seed " + seed + " diverged after " + commonPrefix(first, second) + " of " + first.size() + " trace entries";
+            }
+            if (first.equals(attackTrace(seed + 1000))) return "seeds " + seed + " and " + (seed + 1000) + " gave the same trace";
+            return null;
+        }
+        return "no monster fired a projectile";
+    }
+
+    // บันทึกกระสุนที่เกิดใหม่ทุก tick (tick, x, y) ตามด้วย stateHash ของ tick นั้น
+    // ผู้เล่นยืนนิ่ง ให้มอนเป็นฝ่ายเข้ามาโจมตี
+    private static List<Long> attackTrace(long seed) {
+        GameWorld world = new GameWorld(WIDTH, HEIGHT, Monster.createDefaultMonsters(), PasswordPrompt.CANCEL, seed);
+        ProjectileSystem projectiles = world.getProjectiles();
+        List<Long> trace = new ArrayList<>();
+        boolean fired = false;
+        for (int t = 0; t < ATTACK_TRACE_TICKS; t++) {
+            int before = projectiles.size();
+            world.tick();
+            for (int i = before; i < projectiles.size(); i++) {
+                fired = true;
+                trace.add((long) t);
+                trace.add(Double.doubleToLongBits(projectiles.x(i)));
+                trace.add(Double.doubleToLongBits(projectiles.y(i)));
+            }
+            trace.add(world.stateHash());
+        }
+        return fired ? trace : List.of();
+    }
+
+    private static int commonPrefix(List<Long> a, List<Long> b) {
+        int n = 0;
+        while (n < a.size() && n < b.size() && a.get(n).equals(b.get(n))) n++;
+        return n;
+    }
+
+    // บันทึกการเล่นผ่าน GamePanel ที่ใส่รหัสผิดหนึ่งครั้งแล้วใส่ถูก ระหว่างรอคำตอบ Timer ยังเรียก advance เข้ามา
+    // (เหมือน event loop ซ้อนของ JOptionPane) แล้วเล่นซ้ำจากไฟล์ state hash ต้องตรงทุก checkpoint
+    private static String passwordReplayRoundTrip() {
+        Path file;
+        try {
+            file = Files.createTempFile("sixdoor-roundtrip", ".replay");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        try {
+            for (long seed : SEEDS) {
+                if (!record(file, seed)) continue; // seed นี้เดินไม่ถึงประตู ลองตัวถัดไป
+
+                InputReplay replay = InputReplay.open(file);
+                GamePanel panel = newPanel();
+                panel.setReplay(replay, true);
+                for (long t = 0; t <= replay.endTick() && !replay.isFinished(); t++) panel.tick();
+                if (!replay.isFinished()) return "replay did not reach the end of the recording";
+                return replay.matched() ? null : replay.summary();
+            }
+            return "player never reached a password door";
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                // ไฟล์ชั่วคราว ลบไม่ได้ก็ไม่เป็นไร
+            }
+        }
+    }
+
+    // เล่นหนึ่งรอบพร้อมบันทึกลงไฟล์ คืน false ถ้าผู้เล่นไปไม่ถึงประตูที่ต้องใส่รหัส
+    private static boolean record(Path file, long seed) throws IOException {
+        GamePanel panel = newPanel();
+        int[] prompts = {0};
+        try (InputRecorder recorder = new InputRecorder(file)) {
+            panel.setSeed(seed);
+            panel.setRecorder(recorder);
+            panel.tick(); // สร้างโลก
+            GameWorld world = panel.getWorld();
+            world.setPasswordPrompt(recorder.record(new PasswordPrompt() {
+                @Override
+                public String requestPassword(Level level, Level.DoorHit hit) {
+                    prompts[0]++;
+                    for (int i = 0; i < NESTED_TIMER_EVENTS; i++) {
+                        sleep(Config.TIMER_DELAY_MS);
+                        panel.advance(System.nanoTime());
+                    }
+                    int password = 0;
+                    for (int number : level.getPuzzleNumbers()) password += number;
+                    return prompts[0] == 1 ? String.valueOf(password + 1) : String.valueOf(password);
+                }
+
+                @Override
+                public void passwordRejected(String input) {
+                    panel.advance(System.nanoTime());
+                }
+            }));
+            press(panel, KeyEvent.VK_ENTER); // ออกจากเมนู
+            panel.tick();
+
+            int held = -1;
+            for (int t = 0; t < MAX_STEER_TICKS && prompts[0] < 2; t++) {
+                int key = steer(world);
+                if (world.getActiveDoor() != null && key >= 0) {
+                    press(panel, key);
+                } else if (key != held) {
+                    if (held >= 0) release(panel, held);
+                    if (key >= 0) press(panel, key);
+                    held = key;
+                }
+                panel.tick();
+            }
+            if (held >= 0) release(panel, held);
+            for (int t = 0; t < TICKS_AFTER_PROMPTS; t++) panel.tick();
+        }
+        return prompts[0] >= 2;
+    }
+
+    private static GamePanel newPanel() {
+        GamePanel panel = new GamePanel();
+        panel.setSize(WIDTH, HEIGHT);
+        panel.setGameSize(WIDTH, HEIGHT);
+        return panel;
+    }
+
+    private static void press(GamePanel panel, int code) {
+        KeyEvent event = new KeyEvent(panel, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, code, KeyEvent.CHAR_UNDEFINED);
+        for (KeyListener listener : panel.getKeyListeners()) listener.keyPressed(event);
+    }
+
+    private static void release(GamePanel panel, int code) {
+        KeyEvent event = new KeyEvent(panel, KeyEvent.KEY_RELEASED, System.currentTimeMillis(), 0, code, KeyEvent.CHAR_UNDEFINED);
+        for (KeyListener listener : panel.getKeyListeners()) listener.keyReleased(event);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // เงื่อนไขหยุดเดิน
+    private interface Done {
+        boolean done();
+    }
+
+    // เดินผู้เล่นเข้าหาประตูไปต่อ/ย้อนกลับที่ใกล้ที่สุด ทีละ tick จนกว่า done (หรือหมดเวลา)
+    private static void walkToDoor(GameWorld world, Done done) {
+        int held = -1;
+        for (int t = 0; t < MAX_STEER_TICKS && !done.done(); t++) {
+            int key = steer(world);
+            if (world.getActiveDoor() != null && key >= 0) {
+                world.keyPressed(key); // ชนประตูพัซเซิลระหว่างทาง: กดปุ่มเดินเพื่อปิดหน้าพัซเซิล
+            } else if (key != held) {
+                if (held >= 0) world.keyReleased(held);
+                if (key >= 0) world.keyPressed(key);
+                held = key;
+            }
+            world.tick();
+        }
+        if (held >= 0) world.keyReleased(held);
+    }
+
+    // ปุ่มทิศที่พาผู้เล่นเข้าใกล้ประตูที่ต้องใส่รหัสมากที่สุด (-1 = ไม่มีประตูแบบนั้น)
+    static int steer(GameWorld world) {
+        Level level = world.getCurrentLevel();
+        Player player = world.getPlayer();
+        List<Door> doors = level.getDoors();
+        int dx = 0;
+        int dy = 0;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < doors.size(); i++) {
+            if (doors.get(i).getType() == Door.Type.PUZZLE) continue;
+            int ddx = level.getDoorX(i) + Config.DOOR_SIZE / 2 - player.getCenterX();
+            int ddy = level.getDoorY(i) + Config.DOOR_SIZE / 2 - player.getCenterY();
+            long distance = (long) ddx * ddx + (long) ddy * ddy;
+            if (distance < best) {
+                best = distance;
+                dx = ddx;
+                dy = ddy;
+            }
+        }
+        if (best == Long.MAX_VALUE) return -1;
+        if (Math.abs(dx) >= Math.abs(dy)) return dx < 0 ? KeyEvent.VK_LEFT : KeyEvent.VK_RIGHT;
+        return dy < 0 ? KeyEvent.VK_UP : KeyEvent.VK_DOWN;
+    }
+}
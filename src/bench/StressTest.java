@@ -0,0 +1,191 @@
+package bench;
+
+import entity.Monster;
+import java.awt.Graphics2D;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import main.GamePanel;
+import system.AssetLoader;
+import system.Config;
+import system.GameWorld;
+import system.GcMonitor;
+import system.PasswordPrompt;
+
+/**
+ * StressTest — รันโลกของเกมแบบ headless ด้วยมอนและกระสุนจำนวนมาก แล้วพิมพ์ผลเป็น CSV
+ * (tick ต่อวินาที, percentile ของเวลา tick และเวลาวาด, heap ที่ใช้, จำนวน GC)
+ * ใช้ดูว่าเกมช้าลงอย่างไรเมื่อจำนวน entity เพิ่มจาก 3 ไปถึงหลักหมื่น
+ *
+ *   java -Djava.awt.headless=true -cp bin bench.StressTest --stun=100 --wrap=100 --shoot=100 --projectiles=1000
+ *   java -Djava.awt.headless=true -cp bin bench.StressTest --sweep=3,30,300,3000,10000 --ticks=300
+ *
+ * ตัวเลือก: --ticks=600 --width=1280 --height=720 --render-every=1 (0 = ไม่วาด) --seed=42
+ * ใน --sweep แต่ละค่า N จะแบ่งมอนเท่า ๆ กันสามประเภท และรักษาจำนวนกระสุนไว้ที่ N ลูก
+ */
+public final class StressTest {
+
+    // การตั้งค่าของหนึ่งรอบ
+    record Scenario(int stun, int wrap, int shoot, int projectiles, int ticks, int width, int height,
+                    int renderEvery, long seed) {
+        int monsters() {
+            return stun + wrap + shoot;
+        }
+    }
+
+    private StressTest() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    public static void main(String[] args) {
+        AssetLoader.loadAllAsync().join();
+
+        Scenario base = new Scenario(intOption(args, "--stun=", 1), intOption(args, "--wrap=", 1),
+                intOption(args, "--shoot=", 1), intOption(args, "--projectiles=", 0),
+                intOption(args, "--ticks=", 600), intOption(args, "--width=", 1280),
+                intOption(args, "--height=", 720), intOption(args, "--render-every=", 1),
+                intOption(args, "--seed=", 42));
+
+        System.out.println("monsters,stun,wrap,shoot,projectiles,ticks,ticks_per_s,"
+                + "tick_p50_us,tick_p95_us,tick_p99_us,tick_max_us,"
+                + "frame_p50_us,frame_p95_us,frame_p99_us,frame_max_us,"
+                + "heap_used_mb,heap_peak_mb,gc_count,gc_ms");
+
+        String sweep = option(args, "--sweep=");
+        if (sweep == null) {
+            run(base);
+        } else {
+            for (String value : sweep.split(",")) {
+                int n = Integer.parseInt(value.trim());
+                int each = Math.max(1, n / 3);
+                run(new Scenario(each, each, Math.max(1, n - 2 * each), n, base.ticks(), base.width(),
+                        base.height(), base.renderEvery(), base.seed()));
+            }
+        }
+        System.exit(0); // ปิดเธรดเบื้องหลังของ Swing/AssetLoader
+    }
+
+    // รันหนึ่งสถานการณ์แล้วพิมพ์ผลหนึ่งบรรทัด
+    static void run(Scenario scenario) {
+        Random random = new Random(scenario.seed());
+        List<Monster> monsters = createMonsters(scenario);
+        List<Monster> shooters = new ArrayList<>();
+        for (Monster monster : monsters) {
+            if (monster.getAttackType() == Monster.AttackType.SHOOT) shooters.add(monster);
+        }
+
+        GameWorld world = new GameWorld(scenario.width(), scenario.height(), monsters, PasswordPrompt.CANCEL,
+                scenario.seed());
+        GamePanel panel = new GamePanel();
+        panel.setSize(scenario.width(), scenario.height());
+        panel.setGameSize(scenario.width(), scenario.height());
+        panel.attachWorld(world);
+        pressEnter(panel); // ปิดเมนูเพื่อให้โลกเริ่มเดิน
+
+        BufferedImage target = new BufferedImage(world.getWidth(), world.getHeight(), BufferedImage.TYPE_INT_RGB);
+        long[] tickNanos = new long[scenario.ticks()];
+        long[] frameNanos = new long[scenario.ticks()];
+        int frames = 0;
+
+        GcMonitor gc = GcMonitor.getInstance();
+        long gcCount = gc.getCollectionCount();
+        long gcMillis = gc.getCollectionMillis();
+        long heapPeak = 0;
+
+        long start = System.nanoTime();
+        for (int t = 0; t < scenario.ticks(); t++) {
+            topUpProjectiles(world, shooters, scenario.projectiles(), random);
+            // ไม่มีผู้เล่นกดปุ่ม ถ้าชนประตูพัซเซิลให้ปิดทันที ไม่อย่างนั้นโลกจะหยุดรอ
+            if (world.getActiveDoor() != null) world.closeInteraction();
+
+            long tickStart = System.nanoTime();
+            panel.tick();
+            tickNanos[t] = System.nanoTime() - tickStart;
+
+            if (scenario.renderEvery() > 0 && t % scenario.renderEvery() == 0) {
+                long frameStart = System.nanoTime();
+                Graphics2D g = target.createGraphics();
+                panel.paint(g);
+                g.dispose();
+                frameNanos[frames++] = System.nanoTime() - frameStart;
+            }
+            if (t % 60 == 0) heapPeak = Math.max(heapPeak, gc.getHeapUsed());
+        }
+        long elapsed = System.nanoTime() - start;
+        heapPeak = Math.max(heapPeak, gc.getHeapUsed());
+
+        long[] tick = percentiles(tickNanos, scenario.ticks());
+        long[] frame = percentiles(frameNanos, frames);
+        System.out.printf(Locale.ROOT, "%d,%d,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%d,%d,%d,%d%n",
+                scenario.monsters(), scenario.stun(), scenario.wrap(), scenario.shoot(), scenario.projectiles(),
+                scenario.ticks(), scenario.ticks() * 1e9 / elapsed,
+                tick[0] / 1e3, tick[1] / 1e3, tick[2] / 1e3, tick[3] / 1e3,
+                frame[0] / 1e3, frame[1] / 1e3, frame[2] / 1e3, frame[3] / 1e3,
+                gc.getHeapUsed() >> 20, heapPeak >> 20,
+                gc.getCollectionCount() - gcCount, gc.getCollectionMillis() - gcMillis);
+    }
+
+    // มอนทุกตัวเปิดใช้ทุกด่าน เพื่อให้จำนวนคงที่แม้โลกจะรีเซ็ตด่าน
+    private static List<Monster> createMonsters(Scenario scenario) {
+        int[] all = new int[Config.TOTAL_LEVELS];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+
+        List<Monster> monsters = new ArrayList<>(scenario.monsters());
+        addMonsters(monsters, Monster.AttackType.STUN, scenario.stun(), all);
+        addMonsters(monsters, Monster.AttackType.WRAP, scenario.wrap(), all);
+        addMonsters(monsters, Monster.AttackType.SHOOT, scenario.shoot(), all);
+        return monsters;
+    }
+
+    private static void addMonsters(List<Monster> monsters, Monster.AttackType type, int count, int[] levels) {
+        for (int i = 0; i < count; i++) {
+            Monster monster = new Monster(type);
+            monster.setActiveLevels(levels);
+            monsters.add(monster);
+        }
+    }
+
+    // เติมกระสุนให้ครบจำนวนเป้าหมาย (กระสุนหมดระยะหรือโดนรีเซ็ตด่านจะถูกยิงใหม่)
+    private static void topUpProjectiles(GameWorld world, List<Monster> shooters, int target, Random random) {
+        if (target <= 0 || shooters.isEmpty()) return;
+        for (int i = world.getProjectiles().size(); i < target; i++) {
+            Monster shooter = shooters.get(random.nextInt(shooters.size()));
+            double angle = random.nextDouble() * Math.PI * 2;
+            if (!shooter.spawnProjectile(Math.cos(angle), Math.sin(angle))) break;
+        }
+    }
+
+    // {p50, p95, p99, max} ของ n ค่าแรก
+    private static long[] percentiles(long[] values, int n) {
+        if (n == 0) return new long[4];
+        long[] sorted = Arrays.copyOf(values, n);
+        Arrays.sort(sorted);
+        return new long[]{sorted[rank(0.50, n)], sorted[rank(0.95, n)], sorted[rank(0.99, n)], sorted[n - 1]};
+    }
+
+    private static int rank(double q, int n) {
+        return Math.max(0, Math.min(n - 1, (int) Math.ceil(q * n) - 1));
+    }
+
+    // ส่ง ENTER เข้า listener ตรง ๆ (โหมด headless ไม่มี component ที่มีโฟกัส)
+    private static void pressEnter(GamePanel panel) {
+        KeyEvent enter = new KeyEvent(panel, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, KeyEvent.VK_ENTER, '\n');
+        for (KeyListener listener : panel.getKeyListeners()) listener.keyPressed(enter);
+        panel.tick();
+    }
+
+    private static String option(String[] args, String prefix) {
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) return arg.substring(prefix.length());
+        }
+        return null;
+    }
+
+    private static int intOption(String[] args, String prefix, int fallback) {
+        String value = option(args, prefix);
+        return value != null ? Integer.parseInt(value) : fallback;
+    }
+}
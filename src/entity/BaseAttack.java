@@ -1,7 +1,9 @@
 package entity;
 
+import java.util.SplittableRandom;
 import java.util.WeakHashMap;
 import system.Config;
+import system.GameClock;
 
 // BaseAttack — คลาสแม่ของพฤติกรรมการโจมตี ใช้แชร์สถานะและตัวช่วยร่วมกัน
 abstract class BaseAttack<T extends BaseAttack.State> implements Monster.AttackBehavior {
@@ -11,7 +13,7 @@ abstract class BaseAttack<T extends BaseAttack.State> implements Monster.AttackB
         int frameIndex;
         int frameTimer;
         boolean animationFinished;
-        long lastActionTime = System.currentTimeMillis();
+        long lastActionTime; // เวลาของ GameClock (ms) ที่ใช้ท่าล่าสุด
 
         void resetFrames() {
             frameIndex = 0;
@@ -59,16 +61,21 @@ abstract class BaseAttack<T extends BaseAttack.State> implements Monster.AttackB
         data.resetFrames();
     }
 
-    protected final boolean cooldownReady(T data, long cooldownMs) {
-        return System.currentTimeMillis() - data.lastActionTime >= cooldownMs;
+    protected final boolean cooldownReady(T data, GameClock clock, long cooldownMs) {
+        return clock.millis() - data.lastActionTime >= cooldownMs;
     }
 
-    protected final void markCooldown(T data) {
-        data.lastActionTime = System.currentTimeMillis();
+    protected final void markCooldown(T data, GameClock clock) {
+        data.lastActionTime = clock.millis();
     }
 
     // markCooldownWithDelay — ปรับเวลาเริ่มคูลดาวน์ให้มีดีเลย์ตามต้องการ
-    protected final void markCooldownWithDelay(T data, long cooldownMs, long delayMs) {
-        data.lastActionTime = System.currentTimeMillis() - (cooldownMs - delayMs);
+    protected final void markCooldownWithDelay(T data, GameClock clock, long cooldownMs, long delayMs) {
+        data.lastActionTime = clock.millis() - (cooldownMs - delayMs);
+    }
+
+    // ดีเลย์ก่อนโจมตีครั้งแรกของด่าน (สุ่มเพิ่มจากสายของมอนตัวนี้ ให้แต่ละตัวไม่เริ่มพร้อมกัน)
+    protected final long initialDelay(SplittableRandom random) {
+        return Config.MONSTER_INITIAL_DELAY_MS + random.nextInt(Config.MONSTER_INITIAL_DELAY_JITTER_MS + 1);
     }
 }
\ No newline at end of file
@@ -3,7 +3,10 @@ package entity;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.*;
+import system.AtlasRegion;
 import system.Config;
+import system.GameClock;
+import system.GameEvents;
 import system.Level;
 import system.Utils;
 
@@ -14,6 +17,10 @@ public class Monster extends Sprite {
 
     // โหลด sprite sheet ทุกแบบเพียงครั้งเดียว แล้วใช้ร่วมกันทุกตัว
     private static final MonsterAnimator animator = new MonsterAnimator();
+    private static final int DRAW_SIZE = Config.MONSTER_SIZE * 6; // ขนาด sprite บนจอ
+    static {
+        animator.prepareScaled(DRAW_SIZE, DRAW_SIZE); // เตรียมเฟรมขนาดจริง + กลับด้านไว้ล่วงหน้า
+    }
 
     // สำหรับให้ AttackBehavior ใช้เรียก animator ได้
     public static MonsterAnimator gMonsterAnimator() { return animator; }
@@ -23,10 +30,12 @@ public class Monster extends Sprite {
 
     // พฤติกรรมของมอนสเตอร์แต่ละแบบ (Strategy Pattern)
     public interface AttackBehavior {
-        void attack(Monster self, Player player, Level level);   // การโจมตีหลัก
-        default void render(Graphics2D g, Monster self) {}       // วาดเอฟเฟกต์เฉพาะตัว (optional)
-        default void reset(Monster self) {}                      // รีเซ็ตสถานะเมื่อเริ่มเลเวลใหม่
+        // random = สายสุ่มของมอนตัวนี้ การสุ่มทุกอย่างในพฤติกรรมต้องมาจากตัวนี้ (ผลซ้ำได้ตาม seed ของโลก)
+        void attack(Monster self, Player player, Level level, GameClock clock, SplittableRandom random); // การโจมตีหลัก
+        default void render(Graphics2D g, Monster self, float alpha) {} // วาดเอฟเฟกต์เฉพาะตัว (optional)
+        default void reset(Monster self, GameClock clock, SplittableRandom random) {} // รีเซ็ตสถานะเมื่อเริ่มเลเวลใหม่
         default void afterUpdate(Monster self) {}                // ทำงานหลัง update เสร็จ (optional)
+        default boolean spawnProjectile(Monster self, double dirX, double dirY) { return false; } // ยิงเพิ่ม (เฉพาะมอนที่ยิงได้)
     }
 
     // mapping ประเภทการโจมตี -> พฤติกรรมจริง
@@ -42,12 +51,17 @@ public class Monster extends Sprite {
     private AttackBehavior attackBehavior;  // พฤติกรรมเฉพาะของมอนสเตอร์
     private final boolean[] activeLevels;   // ระบุว่าแต่ละด่านมอนจะโผล่ไหม
     private boolean active;                 // สถานะการเปิดใช้งาน
+    private ProjectileSystem projectiles;   // กระสุนของโลกที่มอนอยู่ (GameWorld เป็นคนกำหนด)
+    private SplittableRandom random = new SplittableRandom(); // สายสุ่มของมอนตัวนี้ (ได้ใหม่ทุกครั้งที่เข้าด่าน)
 
     // ตัวแปรเกี่ยวกับแอนิเมชัน
     private String currentAnim = "idle";    // แอนิเมชันปัจจุบัน
     private int frameIndex = 0;             // เฟรมปัจจุบัน
     private int frameTimer = 0;             // ตัวนับเวลาเปลี่ยนเฟรม
     private boolean moving = false;         // กำลังเคลื่อนไหวอยู่ไหม
+    private BufferedImage[] preparedSource; // อนิเมชันของ prepared (ขอจาก SpriteCache ใหม่เมื่ออนิเมชันหรือทิศเปลี่ยน)
+    private boolean preparedLeft;
+    private AtlasRegion[] prepared;         // เฟรมขนาด DRAW_SIZE ที่ใช้วาดอยู่
     private boolean facingLeft = false;     // จำว่ามอนหันซ้ายไหม
     private boolean animationLocked = false;// ล็อกไม่ให้อนิเมชันเดินเอง (ใช้กับท่าเฉพาะ)
 
@@ -77,7 +91,9 @@ public class Monster extends Sprite {
     }
 
     // เตรียมมอนสเตอร์ก่อนเริ่มเลเวลใหม่
-    public void prepareForLevel(int index, Random random, int width, int height) {
+    // random = สายสุ่มของมอนตัวนี้ในการเข้าด่านครั้งนี้ (ใช้กำหนดจุดเกิด แล้วเก็บไว้ส่งให้ AttackBehavior ทุกครั้ง)
+    public void prepareForLevel(int index, SplittableRandom random, int width, int height, GameClock clock) {
+        this.random = random;
         updateBounds(width, height);
         active = Utils.withinBounds(index, 0, activeLevels.length - 1) && activeLevels[index];
         if (!active) return;
@@ -86,19 +102,27 @@ public class Monster extends Sprite {
         int spawnY = random.nextBoolean() ? 16 : height - size - 16;
         setPosition(spawnX, spawnY);
 
-        if (attackBehavior != null) attackBehavior.reset(this);
+        if (attackBehavior != null) attackBehavior.reset(this, clock, random);
 
         frameIndex = frameTimer = 0;
         currentAnim = "idle";
     }
 
     // อัปเดตการเคลื่อนไหวและการโจมตีของมอนสเตอร์
-    public void update(Player player, Level level) {
+    public void update(Player player, Level level, GameClock clock) {
         if (!active || player == null || attackBehavior == null) return;
 
         int oldX = x, oldY = y;
 
-        attackBehavior.attack(this, player, level);
+        GameEvents.MonsterAttack event = new GameEvents.MonsterAttack();
+        event.begin();
+        attackBehavior.attack(this, player, level, clock, random);
+        event.end();
+        if (event.shouldCommit()) {
+            event.monsterType = type.name();
+            event.projectileCount = projectiles != null ? projectiles.size() : 0;
+            event.commit();
+        }
 
         // 🧭 จำทิศทางล่าสุดก่อน dx ถูกรีเซ็ต
         if (dx < 0) facingLeft = true;
@@ -124,38 +148,29 @@ public class Monster extends Sprite {
         }
     }
 
-    // วาดมอนสเตอร์และเอฟเฟกต์เพิ่มเติม
-    public void draw(Graphics2D g) {
+    // วาดมอนสเตอร์และเอฟเฟกต์เพิ่มเติม (alpha = สัดส่วนระหว่าง tick สำหรับ interpolate)
+    public void draw(Graphics2D g, float alpha) {
         if (!active) return;
 
         BufferedImage[] frames = animator.get(currentAnim);
         if (frames.length == 0) {
-            drawBase(g);
+            drawBase(g, alpha);
             return;
         }
 
         int index = Math.min(frameIndex, frames.length - 1);
-        int drawW = (int) (size * 6);
-        int drawH = (int) (size * 6);
-        int offsetX = x - (drawW - size) / 2;
-        int offsetY = y - (drawH - size) / 2;
-
-        // 🔹 ใช้ทิศที่จำไว้จาก update()
-        boolean faceLeft = facingLeft;
-
-        // 🔹 บันทึก transform เดิมไว้ก่อน
-        java.awt.geom.AffineTransform old = g.getTransform();
-
-        if (faceLeft) {
-            g.translate(offsetX + drawW, offsetY);
-            g.scale(-1, 1);
-            g.drawImage(frames[index], 0, 0, drawW, drawH, null);
-        } else {
-            g.drawImage(frames[index], offsetX, offsetY, drawW, drawH, null);
+        int offsetX = renderX(alpha) - (DRAW_SIZE - size) / 2;
+        int offsetY = renderY(alpha) - (DRAW_SIZE - size) / 2;
+
+        // 🔹 ใช้ทิศที่จำไว้จาก update() — เฟรมถูกย่อ/กลับด้านไว้แล้ว วาดได้ตรง ๆ
+        if (frames != preparedSource || facingLeft != preparedLeft) {
+            prepared = animator.getScaled(currentAnim, DRAW_SIZE, DRAW_SIZE, facingLeft);
+            preparedSource = frames;
+            preparedLeft = facingLeft;
         }
+        if (prepared[index] != null) prepared[index].draw(g, offsetX, offsetY);
 
-        g.setTransform(old); // คืน transform เดิม
-        attackBehavior.render(g, this); // เอฟเฟกต์เพิ่มเติม
+        attackBehavior.render(g, this, alpha); // เอฟเฟกต์เพิ่มเติม
     }
 
     // เปลี่ยนชื่ออนิเมชันที่กำลังเล่น
@@ -186,13 +201,24 @@ public class Monster extends Sprite {
     }
 
 
+    // ยิงกระสุนจากกลางตัวมอนไปทิศที่กำหนด (คืน false ถ้ามอนประเภทนี้ยิงไม่ได้)
+    public boolean spawnProjectile(double dirX, double dirY) {
+        return active && attackBehavior != null && attackBehavior.spawnProjectile(this, dirX, dirY);
+    }
+
+    public void setProjectiles(ProjectileSystem projectiles) {
+        this.projectiles = projectiles;
+    }
+
+    public ProjectileSystem getProjectiles() { return projectiles; }
+
     public boolean isActive() { return active; }
     public AttackType getAttackType() { return type; }
 
     // อัปเดตมอนสเตอร์ทุกตัวพร้อมกัน
-    public static void updateAll(List<Monster> monsters, Player player, Level level) {
+    public static void updateAll(List<Monster> monsters, Player player, Level level, GameClock clock) {
         for (Monster monster : monsters) {
-            monster.update(player, level);
+            monster.update(player, level, clock);
         }
     }
 
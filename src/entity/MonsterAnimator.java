@@ -1,11 +1,12 @@
 package entity;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
-import javax.imageio.ImageIO;
+import system.AssetManager;
+import system.AtlasRegion;
+import system.GameEvents;
+import system.SpriteCache;
 
 /**
  * โหลดและจัดเก็บภาพอนิเมชันของมอนสเตอร์ทั้งหมดในเกม
@@ -33,8 +34,14 @@ public class MonsterAnimator {
      * โหลด sprite ที่มีขนาดเฟรมไม่เท่ากับ 100x100 (เช่น 50x50)
      */
     private void loadCustom(String name, String path, int frames, int frameW, int frameH) {
+        GameEvents.AnimationLoad event = new GameEvents.AnimationLoad();
+        event.begin();
         try {
-            BufferedImage sheet = ImageIO.read(new File(path));
+            BufferedImage sheet = AssetManager.acquire(path).image(); // ใช้ตลอดเกม ไม่คืน handle
+            if (sheet == null) {
+                animations.put(name, new BufferedImage[0]);
+                return;
+            }
             int cols = Math.max(1, sheet.getWidth() / frameW);
             int rows = Math.max(1, sheet.getHeight() / frameH);
             int available = cols * rows;
@@ -53,10 +60,16 @@ public class MonsterAnimator {
                 arr[i] = sheet.getSubimage(x, y, w, h);
             }
         animations.put(name, arr);
-        } catch (IOException e) {
-            animations.put(name, new BufferedImage[0]);
         } catch (Exception e) {
             animations.put(name, new BufferedImage[0]);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.name = name;
+                event.path = path;
+                event.frames = animations.get(name).length;
+                event.commit();
+            }
         }
     }
 
@@ -68,6 +81,23 @@ public class MonsterAnimator {
         return animations.getOrDefault(name, new BufferedImage[0]);
     }
 
+    /**
+     * ดึงเฟรมตามชื่ออนิเมชันที่ย่อ/ขยายตามขนาดวาดจริง (และกลับด้านถ้าหันซ้าย) จาก atlas ของ SpriteCache
+     */
+    public AtlasRegion[] getScaled(String name, int width, int height, boolean mirrored) {
+        return SpriteCache.frames(get(name), width, height, mirrored);
+    }
+
+    /**
+     * เตรียมเฟรมขนาดจริงของทุกอนิเมชันทั้งสองทิศไว้ล่วงหน้า (เรียกครั้งเดียวตอนโหลด)
+     */
+    public void prepareScaled(int width, int height) {
+        for (BufferedImage[] frames : animations.values()) {
+            SpriteCache.frames(frames, width, height, false);
+            SpriteCache.frames(frames, width, height, true);
+        }
+    }
+
     /**
      * สร้างชุดเฟรมแบบย้อนกลับจากอนิเมชันเดิม เช่น death -> death_reverse
      */
@@ -1,13 +1,12 @@
 package entity;
 
 import java.awt.Graphics2D;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.Arrays;
-import javax.imageio.ImageIO;
+import system.AssetManager;
+import system.AtlasRegion;
 import system.Config;
+import system.SpriteCache;
 
 /**
  * Player — ตัวละครผู้เล่นหลักของเกม
@@ -24,6 +23,10 @@ public class Player extends Sprite {
 
     // เก็บ animation frame ของแต่ละสถานะ
     private final BufferedImage[][] frames = new BufferedImage[State.values().length][];
+    // เฟรมที่ย่อ/ขยายตามขนาดวาดจริงแล้ว แยกหันขวาและหันซ้าย (สร้างครั้งเดียวตอนโหลด)
+    private final AtlasRegion[][] rightFrames = new AtlasRegion[State.values().length][];
+    private final AtlasRegion[][] leftFrames = new AtlasRegion[State.values().length][];
+    private int drawSize; // ขนาด sprite บนจอ (size * PLAYER_SPRITE_SCALE)
 
     private State state = State.IDLE;
     private boolean facingLeft;     // true ถ้าหันซ้าย
@@ -103,28 +106,17 @@ public class Player extends Sprite {
         advanceAnimation();
     }
 
-    // วาดผู้เล่นตามทิศทางและเฟรมปัจจุบัน
-    public void draw(Graphics2D g) {
-        BufferedImage frame = currentFrame();
+    // วาดผู้เล่นตามทิศทางและเฟรมปัจจุบัน (alpha = สัดส่วนระหว่าง tick สำหรับ interpolate)
+    public void draw(Graphics2D g, float alpha) {
+        AtlasRegion frame = currentFrame();
         if (frame == null) {
-            drawBase(g);
+            drawBase(g, alpha);
             return;
         }
 
-        AffineTransform old = g.getTransform();
-        int drawWidth = Math.max(1, (int) Math.round(size * Config.PLAYER_SPRITE_SCALE));
-        int drawHeight = drawWidth;
-        int offsetX = (size - drawWidth) / 2;
-        int offsetY = (size - drawHeight) / 2;
-
-        g.translate(x + offsetX, y + offsetY);
-        if (facingLeft) {
-            g.scale(-1, 1);
-            g.drawImage(frame, -drawWidth, 0, drawWidth, drawHeight, null);
-        } else {
-            g.drawImage(frame, 0, 0, drawWidth, drawHeight, null);
-        }
-        g.setTransform(old);
+        // เฟรมถูกเตรียมขนาดและทิศไว้แล้วใน atlas วาดได้ตรง ๆ ไม่ต้อง scale/transform
+        int offset = (size - drawSize) / 2;
+        frame.draw(g, renderX(alpha) + offset, renderY(alpha) + offset);
     }
 
     // ทำให้ผู้เล่นอยู่ในสถานะ Stun ชั่วคราว
@@ -178,9 +170,9 @@ public class Player extends Sprite {
         }
     }
 
-    // ดึงเฟรมปัจจุบันของสถานะที่กำลังเล่น
-    private BufferedImage currentFrame() {
-        BufferedImage[] current = frames[state.ordinal()];
+    // ดึงเฟรมปัจจุบัน (ขนาดพร้อมวาด) ของสถานะที่กำลังเล่นตามทิศที่หัน
+    private AtlasRegion currentFrame() {
+        AtlasRegion[] current = (facingLeft ? leftFrames : rightFrames)[state.ordinal()];
         if (current == null || current.length == 0) return null;
         return current[Math.min(frameIndex, current.length - 1)];
     }
@@ -190,6 +182,13 @@ public class Player extends Sprite {
         frames[State.IDLE.ordinal()] = loadFrames("Idle", "IDLE", 4);
         frames[State.RUN.ordinal()] = loadFrames("Run", "RUN", 8);
         frames[State.DEATH.ordinal()] = loadFrames("Death", "DEATH", 8);
+
+        // เตรียมเฟรมขนาดจริงบนจอ ทั้งหันขวาและหันซ้าย
+        drawSize = Math.max(1, (int) Math.round(size * Config.PLAYER_SPRITE_SCALE));
+        for (int i = 0; i < frames.length; i++) {
+            rightFrames[i] = SpriteCache.frames(frames[i], drawSize, drawSize, false);
+            leftFrames[i] = SpriteCache.frames(frames[i], drawSize, drawSize, true);
+        }
     }
 
     // โหลดภาพต่อเนื่องจากโฟลเดอร์ที่กำหนด
@@ -197,11 +196,7 @@ public class Player extends Sprite {
         BufferedImage[] imgs = new BufferedImage[count];
         for (int i = 0; i < count; i++) {
             String path = String.format("Pic/character/MC/%s/FASE 2 %s%d.png", folder, action, i + 1);
-            try {
-                imgs[i] = ImageIO.read(new File(path));
-            } catch (IOException ex) {
-                imgs[i] = null;
-            }
+            imgs[i] = AssetManager.acquire(path).image(); // null ถ้าโหลดไม่ได้
         }
         return imgs;
     }
@@ -0,0 +1,178 @@
+package entity;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import system.AtlasRegion;
+import system.Config;
+import system.SpriteCache;
+
+/**
+ * ProjectileSystem — กระสุนทั้งหมดของโลกเก็บแบบ struct-of-arrays (อาร์เรย์ primitive หนึ่งชุดต่อฟิลด์)
+ * อัปเดตทุกลูกในลูปเดียวต่อ tick และวาดรวดเดียว กระสุนที่หมดอายุถูกลบด้วยการย้ายตัวสุดท้ายมาแทน (swap-remove)
+ * จึงไม่มีอ็อบเจกต์ต่อกระสุนและไม่ต้องเลื่อนอาร์เรย์ อาร์เรย์ขยายเป็นสองเท่าเมื่อเต็มแล้วใช้ซ้ำตลอด
+ * (ทำหน้าที่เป็น pool ในตัว ช่องที่ว่างจาก swap-remove ถูกใช้ซ้ำโดย spawn ครั้งถัดไป)
+ * ใช้จากเธรดเดียว (เธรดที่รัน tick และวาดภาพ)
+ */
+public class ProjectileSystem {
+
+    private static final int INITIAL_CAPACITY = Config.PROJECTILE_INITIAL_CAPACITY;
+    private static final double SPEED = Config.PROJECTILE_SPEED;
+    private static final double MAX_DISTANCE = Config.PROJECTILE_RANGE;
+    private static final int FRAME_DELAY = Config.PROJECTILE_FRAME_DELAY;
+    private static final BufferedImage[] FRAMES = Monster.gMonsterAnimator().get("summonIdle"); // 4 เฟรม ขนาด 50x50
+    private static final int DRAW_SIZE = 50; // ขนาดจริงที่อยากให้เห็นบนจอ (pixel)
+    private static final double HALF = DRAW_SIZE / 2.0;
+    private static final AtlasRegion[] DRAW_FRAMES = SpriteCache.frames(FRAMES, DRAW_SIZE, DRAW_SIZE, false);
+    private static final Color FALLBACK_COLOR = new Color(120, 200, 255);
+
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] prevX = new double[INITIAL_CAPACITY]; // ตำแหน่งเมื่อ tick ก่อนหน้า (ใช้ interpolate ตอนวาด)
+    private double[] prevY = new double[INITIAL_CAPACITY];
+    private double[] dx = new double[INITIAL_CAPACITY];
+    private double[] dy = new double[INITIAL_CAPACITY];
+    private double[] distance = new double[INITIAL_CAPACITY];
+    private int[] frameIndex = new int[INITIAL_CAPACITY];
+    private int[] frameTimer = new int[INITIAL_CAPACITY];
+    private int size;
+    private int highWater; // จำนวนกระสุนพร้อมกันสูงสุด
+    private int grows;     // จำนวนครั้งที่อาร์เรย์เต็มจนต้องขยาย (miss ของความจุเริ่มต้น)
+
+    // ยิงกระสุนลูกใหม่จาก (startX, startY) ไปทิศ (dirX, dirY) (ไม่ต้อง normalize มาก่อน)
+    public void spawn(double startX, double startY, double dirX, double dirY) {
+        if (size == x.length) grow();
+        int i = size++;
+        if (size > highWater) highWater = size;
+        x[i] = prevX[i] = startX;
+        y[i] = prevY[i] = startY;
+
+        double len = Math.hypot(dirX, dirY);
+        if (len < 1e-4) {
+            dx[i] = 1;
+            dy[i] = 0;
+        } else {
+            dx[i] = dirX / len;
+            dy[i] = dirY / len;
+        }
+        distance[i] = 0;
+        frameIndex[i] = 0;
+        frameTimer[i] = 0;
+    }
+
+    // อัปเดตทุกลูกหนึ่ง tick คืน true ถ้ามีลูกโดนผู้เล่น (ผู้เล่นถูกสั่ง die แล้ว)
+    public boolean update(Player player, int boundsW, int boundsH) {
+        boolean alive = player != null && !player.isDead();
+        int px = alive ? player.getX() : 0;
+        int py = alive ? player.getY() : 0;
+        int playerSize = alive ? player.getSize() : 0;
+        int frames = Math.max(1, DRAW_FRAMES.length);
+        boolean hit = false;
+
+        int i = 0;
+        while (i < size) {
+            double nx = x[i] + dx[i] * SPEED;
+            double ny = y[i] + dy[i] * SPEED;
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            x[i] = nx;
+            y[i] = ny;
+            distance[i] += SPEED;
+
+            boolean expired = distance[i] >= MAX_DISTANCE
+                    || nx < -DRAW_SIZE || ny < -DRAW_SIZE || nx > boundsW + DRAW_SIZE || ny > boundsH + DRAW_SIZE;
+            if (!expired && alive && nx + HALF > px && nx - HALF < px + playerSize
+                    && ny + HALF > py && ny - HALF < py + playerSize) {
+                player.die();
+                alive = false;
+                hit = true;
+                expired = true;
+            }
+            if (expired) {
+                remove(i); // ตัวสุดท้ายย้ายมาอยู่ที่ i แล้ว ยังไม่ได้อัปเดต จึงไม่เลื่อน i
+                continue;
+            }
+
+            if (++frameTimer[i] >= FRAME_DELAY) {
+                frameTimer[i] = 0;
+                frameIndex[i] = (frameIndex[i] + 1) % frames;
+            }
+            i++;
+        }
+        return hit;
+    }
+
+    // วาดทุกลูก (alpha = สัดส่วนระหว่าง tick สำหรับ interpolate)
+    public void draw(Graphics2D g, float alpha) {
+        if (DRAW_FRAMES.length == 0) g.setColor(FALLBACK_COLOR);
+        for (int i = 0; i < size; i++) {
+            int drawX = (int) Math.round(prevX[i] + (x[i] - prevX[i]) * alpha - HALF);
+            int drawY = (int) Math.round(prevY[i] + (y[i] - prevY[i]) * alpha - HALF);
+            if (DRAW_FRAMES.length > 0) {
+                DRAW_FRAMES[frameIndex[i] % DRAW_FRAMES.length].draw(g, drawX, drawY);
+            } else {
+                g.fillOval(drawX, drawY, DRAW_SIZE, DRAW_SIZE);
+            }
+        }
+    }
+
+    // ลบกระสุนทั้งหมด (เริ่มด่านใหม่) อาร์เรย์ยังเก็บไว้ใช้ต่อ
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // ตำแหน่งปัจจุบันของลูกที่ i (0 <= i < size)
+    public double x(int i) {
+        return x[i];
+    }
+
+    public double y(int i) {
+        return y[i];
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    // ใช้ปรับ Config.PROJECTILE_INITIAL_CAPACITY: ถ้า grows ยังเพิ่มระหว่างเล่น ความจุเริ่มต้นเล็กไป
+    public int highWater() {
+        return highWater;
+    }
+
+    public int grows() {
+        return grows;
+    }
+
+    private void remove(int i) {
+        int last = --size;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        dx[i] = dx[last];
+        dy[i] = dy[last];
+        distance[i] = distance[last];
+        frameIndex[i] = frameIndex[last];
+        frameTimer[i] = frameTimer[last];
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        grows++;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        dx = Arrays.copyOf(dx, capacity);
+        dy = Arrays.copyOf(dy, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+        frameIndex = Arrays.copyOf(frameIndex, capacity);
+        frameTimer = Arrays.copyOf(frameTimer, capacity);
+    }
+}
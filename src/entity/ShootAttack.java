@@ -1,10 +1,7 @@
 package entity;
 
-import java.awt.Graphics2D;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import javax.xml.crypto.Data;
+import java.util.SplittableRandom;
+import system.GameClock;
 import system.Level;
 import static system.Config.*;
 
@@ -13,11 +10,11 @@ public class ShootAttack extends BaseAttack<ShootAttack.State> {
     private static final int SUMMON_FRAMES = Math.max(1,
         Monster.gMonsterAnimator().get("summon").length);
     private static final long COOLDOWN_MS = SHOOT_COOLDOWN_TICKS * TIMER_DELAY_MS;
+    private static final int[] SPREAD_DEGREES = {-15, 0, 15}; // ยิงกระจายสามทิศ
     
     static class State extends BaseAttack.State{
         boolean attacking;
         boolean fired;
-        final List<Projectile> projectiles = new ArrayList<>();
     }
 
     @Override
@@ -26,16 +23,15 @@ public class ShootAttack extends BaseAttack<ShootAttack.State> {
     }
 
     @Override
-    public void attack(Monster self, Player player, Level level) {
+    public void attack(Monster self, Player player, Level level, GameClock clock, SplittableRandom random) {
         State data = state(self);
-        updateProjectiles(data, player, self);
         if (player == null) { stopCasting(self, data); return; }
-        if (data.attacking) { handleCasting(self, player, data); return; }
+        if (data.attacking) { handleCasting(self, player, data, clock, random); return; }
         switchAnimation(self, data, "idle");
 
         self.follow(player.getX(), player.getY());
 
-        if (!cooldownReady(data, COOLDOWN_MS)) return;
+        if (!cooldownReady(data, clock, COOLDOWN_MS)) return;
         if (!withinRange(self, player)) return;
         beginSummon(self, data);
     }
@@ -46,32 +42,32 @@ public class ShootAttack extends BaseAttack<ShootAttack.State> {
         self.clamp();
     }
 
+    // กระสุนถูกอัปเดตและวาดรวมกันใน ProjectileSystem ของโลก (ไม่ผูกกับมอนแต่ละตัว)
     @Override
-    public void render(Graphics2D g, Monster self) {
-        // วาดกระสุนทั้งหมด
-        for (Projectile projectile : state(self).projectiles) {
-            projectile.draw(g);
-        }
+    public boolean spawnProjectile(Monster self, double dirX, double dirY) {
+        ProjectileSystem projectiles = self.getProjectiles();
+        if (projectiles == null) return false;
+        projectiles.spawn(self.getCenterX(), self.getCenterY(), dirX, dirY);
+        return true;
     }
 
     @Override
-    public void reset(Monster self) {
+    public void reset(Monster self, GameClock clock, SplittableRandom random) {
         State data = state(self);
         stopCasting(self, data);
-        data.projectiles.clear();
-        markCooldownWithDelay(data, COOLDOWN_MS, MONSTER_INITIAL_DELAY_MS);
+        markCooldownWithDelay(data, clock, COOLDOWN_MS, initialDelay(random));
         switchAnimation(self, data, "idle");
     }
 
     // ===== ระหว่างกำลังร่าย summon =====
-    private void handleCasting(Monster self, Player player, State data) {
+    private void handleCasting(Monster self, Player player, State data, GameClock clock, SplittableRandom random) {
         self.setVelocity(0, 0);
         switchAnimation(self, data, "summon");
         if (!data.fired && data.frameIndex >= SUMMON_FRAMES - 1) {
             // ยิงกระสุน 3 ทิศเมื่อถึงเฟรมสุดท้าย
-            fireProjectiles(self, player, data);
+            fireProjectiles(self, player, random);
             data.fired = true;
-            markCooldown(data);
+            markCooldown(data, clock);
         }
         if (!advanceAnimation(data, SUMMON_FRAMES)) return;
         data.attacking = false;
@@ -92,30 +88,16 @@ public class ShootAttack extends BaseAttack<ShootAttack.State> {
         switchAnimation(self, data, "idle");
     }
 
-    private void updateProjectiles(State data, Player player, Monster self) {
-        Iterator<Projectile> iterator = data.projectiles.iterator();
-        while (iterator.hasNext()) {
-            Projectile projectile = iterator.next();
-            projectile.update(player, self.panelWidth, self.panelHeight);
-            if (projectile.isActive()) continue;
-            iterator.remove();
-        }
-    }
-
     private boolean withinRange(Monster self, Player player) {
         return self.distanceSquaredTo(player.getCenterX(), player.getCenterY()) <= WARP_RANGE * WARP_RANGE;
     }
 
-    private void fireProjectiles(Monster self, Player player, State data) {
+    private void fireProjectiles(Monster self, Player player, SplittableRandom random) {
         double baseAngle = Math.atan2(player.getCenterY() - self.getCenterY(), player.getCenterX() - self.getCenterX());
-        for (int angleOffset : new int[]{-15, 0, 15}) {
+        baseAngle += Math.toRadians(random.nextDouble(-SHOOT_AIM_JITTER_DEGREES, SHOOT_AIM_JITTER_DEGREES)); // เล็งคลาดเล็กน้อย
+        for (int angleOffset : SPREAD_DEGREES) {
             double angle = baseAngle + Math.toRadians(angleOffset);
-            Projectile projectile = new Projectile(
-                    self.getCenterX(),
-                    self.getCenterY(),
-                    Math.cos(angle),
-                    Math.sin(angle));
-            data.projectiles.add(projectile);
+            spawnProjectile(self, Math.cos(angle), Math.sin(angle));
         }
     }
 }
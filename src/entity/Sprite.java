@@ -18,6 +18,9 @@ public abstract class Sprite {
     protected int speed;
     protected int size;
 
+    // ตำแหน่งเมื่อ tick ก่อนหน้า (ใช้ interpolate ตอนวาด)
+    protected int prevX, prevY;
+
     // ขอบเขตของพื้นที่เกม
     protected int panelWidth = Config.PANEL_WIDTH;
     protected int panelHeight = Config.PANEL_HEIGHT;
@@ -49,6 +52,28 @@ public abstract class Sprite {
         x = nx;
         y = ny;
         clamp();
+        snapPrevious(); // ย้ายตำแหน่งทันที ไม่ต้อง interpolate จากจุดเดิม
+    }
+
+    // จำตำแหน่งปัจจุบันไว้ก่อนเริ่ม tick ใหม่
+    public void capturePrevious() {
+        prevX = x;
+        prevY = y;
+    }
+
+    // ให้ตำแหน่งก่อนหน้าเท่ากับตำแหน่งปัจจุบัน (ใช้ตอนวาร์ป/เกิดใหม่)
+    protected void snapPrevious() {
+        prevX = x;
+        prevY = y;
+    }
+
+    // ตำแหน่งสำหรับวาด ระหว่าง tick ก่อนหน้ากับ tick ปัจจุบัน (alpha 0–1)
+    protected int renderX(float alpha) {
+        return prevX + Math.round((x - prevX) * alpha);
+    }
+
+    protected int renderY(float alpha) {
+        return prevY + Math.round((y - prevY) * alpha);
     }
 
     // กำหนดความเร็วในแกน x, y
@@ -110,6 +135,7 @@ public abstract class Sprite {
         else y = rectBottom + 1;
 
         clamp();
+        snapPrevious();
     }
 
     // อัปเดตตำแหน่งพื้นฐานจากความเร็ว แล้วรีเซ็ต dx, dy
@@ -122,13 +148,15 @@ public abstract class Sprite {
     }
 
     // วาด sprite พื้นฐาน (ใช้ภาพถ้ามี ไม่งั้นใช้สี่เหลี่ยมสี)
-    protected void drawBase(Graphics2D g) {
+    protected void drawBase(Graphics2D g, float alpha) {
+        int drawX = renderX(alpha);
+        int drawY = renderY(alpha);
         if (frame != null) {
-            g.drawImage(frame, x, y, size, size, null);
+            g.drawImage(frame, drawX, drawY, size, size, null);
             return;
         }
         g.setColor(fallbackColor);
-        g.fillRect(x, y, size, size);
+        g.fillRect(drawX, drawY, size, size);
     }
 
     // ตรวจการชนกับ Sprite อื่น
@@ -146,6 +174,8 @@ public abstract class Sprite {
     public int getY() { return y; }
     public int getCenterX() { return x + size / 2; }
     public int getCenterY() { return y + size / 2; }
+    public int getRenderCenterX(float alpha) { return renderX(alpha) + size / 2; }
+    public int getRenderCenterY(float alpha) { return renderY(alpha) + size / 2; }
     public int getSize() { return size; }
     public int getSpeed() { return speed; }
     
@@ -3,11 +3,13 @@ package entity;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.util.SplittableRandom;
 import java.util.WeakHashMap;
 
 import javax.xml.crypto.Data;
 
 import system.Config;
+import system.GameClock;
 import system.Utils;
 
 // StunAttack — มอนสเตอร์ช็อตกระจายเป็นวงเพื่อหยุดผู้เล่นชั่วคราว
@@ -27,22 +29,22 @@ class StunAttack extends BaseAttack<StunAttack.State> {
     }
 
     @Override
-    public void reset(Monster self) {
+    public void reset(Monster self, GameClock clock, SplittableRandom random) {
         State data = state(self);
         data.stunTick = 0;
         data.casting = false;
-        markCooldownWithDelay(data, COOLDOWN_MS, Config.MONSTER_INITIAL_DELAY_MS);
+        markCooldownWithDelay(data, clock, COOLDOWN_MS, initialDelay(random));
         switchAnimation(self, data, "idle");
     }
 
     @Override
-    public void attack(Monster self, Player player, system.Level level) {
+    public void attack(Monster self, Player player, system.Level level, GameClock clock, SplittableRandom random) {
         State data = state(self);
         if (handleWave(self, player, data)) return;
         if (player == null) { cancelCasting(self, data); return; }
-        if (handleCasting(self, player, data)) return;
+        if (handleCasting(self, player, data, clock)) return;
         switchAnimation(self, data, "idle");
-        if (cooldownReady(data, COOLDOWN_MS)) {
+        if (cooldownReady(data, clock, COOLDOWN_MS)) {
             startCasting(self, data);
             return;
         }
@@ -50,7 +52,7 @@ class StunAttack extends BaseAttack<StunAttack.State> {
     }
 
     @Override
-    public void render(Graphics2D g, Monster self) {
+    public void render(Graphics2D g, Monster self, float alpha) {
         State data = state(self);
         if (data.stunTick <= 0) return;
         drawRing(g, self, data);
@@ -63,14 +65,14 @@ class StunAttack extends BaseAttack<StunAttack.State> {
         return true;
     }
 
-    private boolean handleCasting(Monster self, Player player, State data) {
+    private boolean handleCasting(Monster self, Player player, State data, GameClock clock) {
         if (!data.casting) return false;
         self.setVelocity(0, 0);
         switchAnimation(self, data, "skill1");
         if (!advanceAnimation(data, SKILL_FRAMES, CAST_DELAY)) return true;
         data.casting = false;
         data.stunTick = Config.STUN_DURATION;
-        markCooldown(data);
+        markCooldown(data, clock);
         switchAnimation(self, data, "idle");
         return true;
     }
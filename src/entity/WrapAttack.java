@@ -1,10 +1,12 @@
 package entity;
 
+import system.GameClock;
 import system.Level;
 import system.Utils;
 
 import static system.Config.*;
 
+import java.util.SplittableRandom;
 import java.util.WeakHashMap;
 
 import javax.xml.crypto.Data;
@@ -31,14 +33,14 @@ public class WrapAttack extends BaseAttack<WrapAttack.State> {
 
     // 🎯 Logic หลัก: ควบคุมสถานะการวาร์ปของมอนสเตอร์
     @Override
-    public void attack(Monster self, Player player, Level level) {
+    public void attack(Monster self, Player player, Level level, GameClock clock, SplittableRandom random) {
         State data = state(self);
         if (player == null) { goIdle(self, data); return; }
         switch (data.stage) {
-            case IDLE -> handleIdle(self, player, data);
+            case IDLE -> handleIdle(self, player, data, clock);
             case CHARGE -> handleCharge(self, player, data);
             case WAIT -> handleWait(self, data);
-            case RECOVER -> handleRecover(self, data);
+            case RECOVER -> handleRecover(self, data, clock);
         }
     }
 
@@ -50,17 +52,17 @@ public class WrapAttack extends BaseAttack<WrapAttack.State> {
 
     // 🔄 รีเซ็ตสถานะมอนสเตอร์
     @Override
-    public void reset(Monster self) {
+    public void reset(Monster self, GameClock clock, SplittableRandom random) {
         State data = state(self);
         goIdle(self, data);
-        markCooldownWithDelay(data, WARP_COOLDOWN_MS, MONSTER_INITIAL_DELAY_MS);
+        markCooldownWithDelay(data, clock, WARP_COOLDOWN_MS, initialDelay(random));
     }
 
     // ===== 💤 สถานะ Idle =====
-    private void handleIdle(Monster self, Player player, State data) {
+    private void handleIdle(Monster self, Player player, State data, GameClock clock) {
         if (data.stage != Stage.IDLE) goIdle(self, data);
         self.follow(player.getX(), player.getY());
-        if (!cooldownReady(data, WARP_COOLDOWN_MS)) return;
+        if (!cooldownReady(data, clock, WARP_COOLDOWN_MS)) return;
         if (!withinWarpRange(self, player)) return;
         startCharge(self, data);
         updateTarget(self, player, data, false);
@@ -87,13 +89,13 @@ public class WrapAttack extends BaseAttack<WrapAttack.State> {
     }
 
     // ===== 🔁 เล่น death_reverse เพื่อโผล่กลับ =====
-    private void handleRecover(Monster self, State data) {
+    private void handleRecover(Monster self, State data, GameClock clock) {
         self.setVelocity(0, 0);
         if (!advanceAnimation(data, RECOVER_FRAMES)) {
             self.setAnimationFrame(data.frameIndex);
             return;
         }
-        markCooldown(data);
+        markCooldown(data, clock);
         goIdle(self, data);
     }
 
@@ -0,0 +1,103 @@
+package main;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ActiveRenderLoop — ลูปเกมแบบ active rendering
+ * ใช้เธรดของตัวเองเรียก advance() (tick คงที่) และวาดลง BufferStrategy ของ Canvas (page flip ถ้าการ์ดจอรองรับ)
+ * คุมจังหวะเฟรมเองด้วย System.nanoTime แทนการพึ่ง Swing Timer + repaint()
+ */
+public class ActiveRenderLoop implements Runnable {
+
+    private static final int BUFFERS = 2;                                  // จำนวนบัฟเฟอร์ (front + back)
+    private static final long SPIN_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(1); // ช่วงท้ายที่รอแบบ spin เพื่อลด jitter
+
+    private final GamePanel game;
+    private final Canvas canvas;
+    private final long frameNanos;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public ActiveRenderLoop(GamePanel game, Canvas canvas, long frameNanos) {
+        this.game = game;
+        this.canvas = canvas;
+        this.frameNanos = Math.max(1, frameNanos);
+    }
+
+    // สร้าง BufferStrategy และเริ่มเธรดลูปเกม (ต้องเรียกหลังหน้าต่างแสดงผลแล้ว)
+    public void start() {
+        if (running) return;
+        canvas.setIgnoreRepaint(true);
+        canvas.createBufferStrategy(BUFFERS);
+
+        running = true;
+        thread = new Thread(this, "game-loop");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // หยุดลูปและรอให้เธรดจบ
+    public void stop() {
+        running = false;
+        if (thread == null) return;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy strategy = canvas.getBufferStrategy();
+        long next = System.nanoTime();
+
+        while (running) {
+            game.advance(System.nanoTime());
+            present(strategy);
+
+            next += frameNanos;
+            waitUntil(next);
+
+            // ถ้าช้ากว่ากำหนดเกินหนึ่งเฟรม (เช่นเปิดกล่องรหัสผ่าน) ให้นับจังหวะใหม่ ไม่เร่งเฟรมไล่ตาม
+            long now = System.nanoTime();
+            if (now - next > frameNanos) next = now;
+        }
+    }
+
+    // วาดเฟรมลง back buffer แล้วสลับขึ้นจอ (วนซ้ำถ้าเนื้อหาบัฟเฟอร์หาย)
+    private void present(BufferStrategy strategy) {
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    game.render(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    // รอจนถึงเวลาที่กำหนด: park เป็นส่วนใหญ่ แล้ว spin ช่วงท้ายให้แม่นยำ
+    private void waitUntil(long deadline) {
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
@@ -1,15 +1,139 @@
 package main;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
 import javax.swing.SwingUtilities;
+import system.AllocationLog;
+import system.AssetLoader;
+import system.GameMetrics;
+import system.GameRandom;
+import system.InputRecorder;
+import system.InputReplay;
+import system.MetricsServer;
 
 public class App {
     public static void main(String[] args) {
+        // --replay=<ไฟล์>: เล่นซ้ำไฟล์บันทึกอินพุต แล้วตรวจว่า state hash ตรงกับตอนบันทึก
+        String replayFile = option(args, "--replay=");
+        // --headless: เล่นซ้ำโดยไม่เปิดหน้าต่าง (ใช้คู่กับ --replay) จบแล้ว exit code 0 = ตรง, 1 = ไม่ตรง
+        boolean headless = Arrays.asList(args).contains("--headless");
+        if (replayFile != null && headless) System.setProperty("java.awt.headless", "true");
+
+        // เริ่มถอดรหัสภาพทั้งหมดแบบขนานทันที ระหว่างที่สร้างหน้าต่าง
+        AssetLoader.loadAllAsync();
+
+        // --active-rendering: ใช้ Canvas + BufferStrategy และเธรดลูปเกมแทน Swing Timer
+        boolean activeRendering = Arrays.asList(args).contains("--active-rendering");
+        // --profile-csv=<ไฟล์>: เขียนฮิสโตแกรมเวลาแต่ละช่วงของเฟรมลง CSV ตอนปิดเกม
+        String profileCsv = option(args, "--profile-csv=");
+        // --alloc-log=<ไฟล์>: บันทึกไบต์ที่จองต่อช่วงของเฟรมและสถิติ GC ทุกวินาที
+        String allocLog = option(args, "--alloc-log=");
+        // --metrics-port=<พอร์ต>: เปิด endpoint /metrics แบบ Prometheus บน localhost
+        String metricsPort = option(args, "--metrics-port=");
+        // --seed=<ตัวเลข 64 บิต>: seed ของโลก (ด่าน ประตู จุดเกิดมอน) ไม่ระบุ = สุ่มใหม่แล้วพิมพ์ไว้ให้เล่นซ้ำได้
+        String seedOption = option(args, "--seed=");
+        // --record=<ไฟล์>: บันทึก seed และอินพุตทุก tick ลงไฟล์ไบนารี (เล่นซ้ำด้วย --replay)
+        String recordFile = option(args, "--record=");
+        // --replay-speed=max: เล่นซ้ำเร็วที่สุด (ค่าเริ่มต้น 1x = ความเร็วจริง)
+        boolean maxSpeed = "max".equals(option(args, "--replay-speed="));
+
+        InputReplay replay = null;
+        InputRecorder recorder = null;
+        long seed = 0;
+        if (replayFile != null) {
+            try {
+                replay = InputReplay.open(Path.of(replayFile));
+            } catch (IOException ex) {
+                System.err.println("⚠ Cannot read input recording: " + ex.getMessage());
+                System.exit(1);
+            }
+            System.out.println("Replaying " + replayFile + " (seed " + replay.seed() + ", "
+                    + replay.endTick() + " ticks)");
+            if (headless) {
+                GamePanel panel = new GamePanel();
+                panel.setReplay(replay, maxSpeed);
+                System.exit(runHeadless(panel, replay, maxSpeed) ? 0 : 1);
+            }
+        } else {
+            seed = seedOption != null ? Long.parseLong(seedOption) : GameRandom.newSeed();
+            System.out.println("Seed: " + seed);
+            if (recordFile != null) {
+                try {
+                    recorder = new InputRecorder(Path.of(recordFile));
+                    Runtime.getRuntime().addShutdownHook(new Thread(recorder::close, "input-recorder"));
+                } catch (IOException ex) {
+                    System.err.println("⚠ Cannot open input recording: " + ex.getMessage());
+                }
+            }
+        }
+
+        InputReplay finalReplay = replay;
+        InputRecorder finalRecorder = recorder;
+        long finalSeed = seed;
         // เริ่มโปรแกรมบน Event Dispatch Thread ของ Swing (ป้องกันบั๊กด้าน UI)
         SwingUtilities.invokeLater(() -> {
+            // ตั้งค่าจอเกมก่อนลูปเกมเริ่ม (โลกถูกสร้างใน tick แรกหลังภาพโหลดเสร็จ)
+            GamePanel panel = new GamePanel();
+            if (finalReplay != null) {
+                panel.setReplay(finalReplay, maxSpeed);
+            } else {
+                panel.setSeed(finalSeed);
+                panel.setRecorder(finalRecorder);
+            }
+            if (allocLog != null) {
+                try {
+                    panel.setAllocationLog(new AllocationLog(Path.of(allocLog), 1000));
+                } catch (IOException ex) {
+                    System.err.println("⚠ Cannot open allocation log: " + ex.getMessage());
+                }
+            }
+            if (metricsPort != null) {
+                GameMetrics metrics = new GameMetrics();
+                try {
+                    MetricsServer server = new MetricsServer(Integer.parseInt(metricsPort), metrics);
+                    server.start();
+                    panel.setMetrics(metrics);
+                    System.out.println("Metrics: http://127.0.0.1:" + server.getPort() + "/metrics");
+                } catch (IOException | NumberFormatException ex) {
+                    System.err.println("⚠ Cannot start metrics endpoint: " + ex.getMessage());
+                }
+            }
+
             // สร้างหน้าต่างหลักของเกม
-            GameFrame frame = new GameFrame();
+            GameFrame frame = new GameFrame(activeRendering, panel);
+            if (profileCsv != null) {
+                frame.getGamePanel().getProfiler().writeCsvOnExit(Path.of(profileCsv));
+            }
             // แสดงหน้าต่างบนจอ
             frame.setVisible(true);
         });
     }
+
+    // เล่นซ้ำบนเธรดนี้โดยไม่วาดภาพ คืน true ถ้า state hash ตรงทุก checkpoint
+    private static boolean runHeadless(GamePanel panel, InputReplay replay, boolean maxSpeed) {
+        AssetLoader.loadAllAsync().join();
+        long start = System.nanoTime();
+        while (!replay.isFinished()) {
+            if (maxSpeed) {
+                panel.tick();
+            } else {
+                panel.advance(System.nanoTime());
+                LockSupport.parkNanos(1_000_000L);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%.2f s (%.0f ticks/s)%n", seconds, replay.ticks() / Math.max(1e-9, seconds));
+        return replay.matched();
+    }
+
+    // ค่าของตัวเลือกแบบ --name=value (null ถ้าไม่ได้ระบุ)
+    private static String option(String[] args, String prefix) {
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith(prefix))
+                .map(arg -> arg.substring(prefix.length()))
+                .findFirst()
+                .orElse(null);
+    }
 }
\ No newline at end of file
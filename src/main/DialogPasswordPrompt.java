@@ -0,0 +1,123 @@
+package main;
+
+import java.awt.Component;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.swing.JOptionPane;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.AttributeSet;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DocumentFilter;
+import system.Level;
+import system.PasswordPrompt;
+
+// ขอรหัสผ่านประตูด้วยกล่องโต้ตอบของ Swing (รับเฉพาะตัวเลข)
+public class DialogPasswordPrompt implements PasswordPrompt {
+
+    private final Supplier<Component> parent; // component ที่ใช้เป็นเจ้าของกล่องโต้ตอบ
+    private final Runnable afterDialog;       // เรียกหลังปิดกล่อง เช่นคืนโฟกัสให้จอเกม
+
+    public DialogPasswordPrompt(Supplier<Component> parent, Runnable afterDialog) {
+        this.parent = parent;
+        this.afterDialog = afterDialog;
+    }
+
+    // กล่องใส่รหัสผ่านเมื่อชนประตูไปต่อ/ย้อนกลับ
+    @Override
+    public String requestPassword(Level level, Level.DoorHit hit) {
+        String input = callOnEdt(() -> showNumericInputDialog("Please enter password", "รหัสประตู"));
+        afterDialog.run();
+        return input;
+    }
+
+    @Override
+    public void passwordRejected(String input) {
+        callOnEdt(() -> {
+            JOptionPane.showMessageDialog(
+                    parent.get(),
+                    "Incorrect Answer Hint : sum",
+                    "Wrong Answer",
+                    JOptionPane.WARNING_MESSAGE
+            );
+            return null;
+        });
+        afterDialog.run();
+    }
+
+    // กล่องโต้ตอบของ Swing ต้องเปิดบน EDT — ถ้าถูกเรียกจากเธรดลูปเกมจะรอจนผู้เล่นตอบ
+    private <T> T callOnEdt(Supplier<T> task) {
+        if (SwingUtilities.isEventDispatchThread()) return task.get();
+
+        AtomicReference<T> result = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> result.set(task.get()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+        return result.get();
+    }
+
+    // แสดงกล่องกรอกข้อมูลที่รับเฉพาะตัวเลขเท่านั้น ถ้า Cancel จะคืนค่าเป็น null
+    private String showNumericInputDialog(String message, String title) {
+        JTextField field = new JTextField();
+        field.setColumns(6);
+        ((AbstractDocument) field.getDocument()).setDocumentFilter(new DigitsOnlyFilter());
+
+        while (true) {
+            int option = JOptionPane.showConfirmDialog(
+                    parent.get(),
+                    new Object[]{message, field},
+                    title,
+                    JOptionPane.OK_CANCEL_OPTION,
+                    JOptionPane.QUESTION_MESSAGE
+            );
+
+            if (option != JOptionPane.OK_OPTION) {
+                return null;
+            }
+
+            String text = field.getText();
+            if (text != null && !text.isBlank()) {
+                return text.trim();
+            }
+
+            JOptionPane.showMessageDialog(
+                    parent.get(),
+                    "กรุณากรอกตัวเลขก่อนกดตกลง",
+                    "ข้อมูลไม่ครบถ้วน",
+                    JOptionPane.WARNING_MESSAGE
+            );
+        }
+    }
+
+    // DocumentFilter สำหรับยอมให้พิมพ์เฉพาะตัวเลข 0-9
+    private static class DigitsOnlyFilter extends DocumentFilter {
+        @Override
+        public void insertString(FilterBypass fb, int offset, String string, AttributeSet attr) throws BadLocationException {
+            if (string == null || string.isEmpty() || isNumeric(string)) {
+                super.insertString(fb, offset, string, attr);
+            }
+        }
+
+        @Override
+        public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) throws BadLocationException {
+            if (text == null || text.isEmpty() || isNumeric(text)) {
+                super.replace(fb, offset, length, text, attrs);
+            }
+        }
+
+        private boolean isNumeric(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                if (!Character.isDigit(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
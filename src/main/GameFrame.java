@@ -1,27 +1,49 @@
 package main;
 
+import java.awt.Canvas;
 import java.awt.Dimension;
 import java.awt.Toolkit;
+import java.util.concurrent.TimeUnit;
 import javax.swing.JFrame;
+import system.Config;
 
 /**
  * GameFrame — หน้าต่างหลักของเกม
  * เปิดเกมในโหมดเต็มหน้าจอทันที (fullscreen)
  * ไม่มีระบบกด F11 สลับโหมด
+ * รองรับโหมด active rendering (Canvas + BufferStrategy) เป็นตัวเลือกเสริม
  */
 public class GameFrame extends JFrame {
 
     private final GamePanel panel;
 
     public GameFrame() {
+        this(false);
+    }
+
+    public GameFrame(boolean activeRendering) {
+        this(activeRendering, new GamePanel());
+    }
+
+    // ใช้ GamePanel ที่ตั้งค่าไว้แล้ว (seed, การบันทึก/เล่นซ้ำ) ก่อนลูปเกมเริ่ม
+    public GameFrame(boolean activeRendering, GamePanel panel) {
         super("Six Door Maze");
 
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setResizable(false);
 
-        // สร้างและเพิ่ม GamePanel (จอเกมหลัก)
-        panel = new GamePanel();
-        setContentPane(panel);
+        // จอเกมหลัก
+        this.panel = panel;
+        Canvas canvas = null;
+        if (activeRendering) {
+            // โหมด active: วาดลง Canvas เองจากเธรดลูปเกม ไม่ผ่าน repaint manager ของ Swing
+            canvas = new Canvas();
+            setIgnoreRepaint(true);
+            add(canvas);
+            panel.attachSurface(canvas);
+        } else {
+            setContentPane(panel);
+        }
 
         // ดึงขนาดหน้าจอจริงของเครื่อง
         Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
@@ -35,6 +57,17 @@ public class GameFrame extends JFrame {
         panel.setGameSize(screenSize.width, screenSize.height);
 
         setVisible(true);
-        panel.requestFocusInWindow(); // โฟกัสไปยัง panel ทันที
+        if (canvas != null) {
+            ActiveRenderLoop renderLoop = new ActiveRenderLoop(panel, canvas, TimeUnit.SECONDS.toNanos(1) / Config.RENDER_RATE);
+            renderLoop.start();
+            canvas.requestFocusInWindow(); // โฟกัสไปยัง canvas ทันที
+        } else {
+            panel.start();
+            panel.requestFocusInWindow(); // โฟกัสไปยัง panel ทันที
+        }
+    }
+
+    public GamePanel getGamePanel() {
+        return panel;
     }
 }
@@ -2,13 +2,12 @@ package main;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
+import system.AssetManager;
 
 /**
  * GameMenu — หน้าแนะนำเกมในธีม Horror
  * แสดงมอนสเตอร์ 3 ตัว พร้อมคำอธิบายสกิลและวิธีเล่น
+ * ระหว่างที่ AssetLoader ยังโหลดภาพไม่เสร็จ จะแสดงแถบความคืบหน้าแทนปุ่มเริ่มเกม
  */
 public class GameMenu {
 
@@ -18,22 +17,23 @@ public class GameMenu {
     private static final Font CARD_DESC_FONT = new Font("SansSerif", Font.PLAIN, 17);
 
     private BufferedImage stunImg, wrapImg, shootImg;
-
-    public GameMenu() {
-        loadImages();
-    }
+    private boolean imagesLoaded; // ขอภาพจาก AssetManager หลังโหลดเสร็จแล้วเท่านั้น
 
     private void loadImages() {
-        try {
-            stunImg  = ImageIO.read(new File("Pic/character/Mon/skill1.png"));
-            wrapImg  = ImageIO.read(new File("Pic/character/Mon/death.png"));
-            shootImg = ImageIO.read(new File("Pic/character/Mon/summon.png"));
-        } catch (IOException e) {
+        // ใช้ภาพชุดเดียวกับ MonsterAnimator ไม่ถอดรหัสซ้ำ (เมนูอยู่ตลอดเกมจึงไม่คืน handle)
+        stunImg  = AssetManager.acquire("Pic/character/Mon/skill1.png").image();
+        wrapImg  = AssetManager.acquire("Pic/character/Mon/death.png").image();
+        shootImg = AssetManager.acquire("Pic/character/Mon/summon.png").image();
+        if (stunImg == null || wrapImg == null || shootImg == null) {
             System.err.println("⚠ Cannot load monster images.");
         }
+        imagesLoaded = true;
     }
 
-    public void draw(Graphics2D g2, int width, int height) {
+    // loadProgress = ความคืบหน้าการโหลดภาพ (0–1) ถ้ายังไม่ครบจะแสดงแถบโหลดแทนปุ่มเริ่มเกม
+    public void draw(Graphics2D g2, int width, int height, float loadProgress) {
+        if (!imagesLoaded && loadProgress >= 1f) loadImages();
+
         g2 = (Graphics2D) g2.create();
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
@@ -65,19 +65,40 @@ public class GameMenu {
         drawMonsterCard(g2, centerX + spacing, cardTop, new Color(255,120,80),
                 "SHOOTING MONSTER", "Fires energy projectiles from distance that can kill instantly.", shootImg);
 
-        // ปุ่มเริ่มเกม (มีกล่องพอดีข้อความ)
-        drawTextWithBox(g2,
-            "Press ENTER to Begin",
-            centerX,
-            height - 100,
-            SUBTITLE_FONT,
-            Color.WHITE,
-            new Color(255, 80, 80)
-        );
+        if (loadProgress < 1f) {
+            drawLoadingBar(g2, centerX, height - 100, loadProgress);
+        } else {
+            // ปุ่มเริ่มเกม (มีกล่องพอดีข้อความ)
+            drawTextWithBox(g2,
+                "Press ENTER to Begin",
+                centerX,
+                height - 100,
+                SUBTITLE_FONT,
+                Color.WHITE,
+                new Color(255, 80, 80)
+            );
+        }
 
         g2.dispose();
     }
 
+    /** วาดแถบความคืบหน้าการโหลดภาพ */
+    private void drawLoadingBar(Graphics2D g2, int centerX, int y, float progress) {
+        int barW = 400, barH = 16;
+        int barX = centerX - barW / 2;
+
+        g2.setColor(Color.WHITE);
+        g2.setFont(SUBTITLE_FONT);
+        drawCenteredString(g2, "Loading... " + Math.round(progress * 100) + "%", centerX, y - 14);
+
+        g2.setColor(new Color(255, 80, 80, 60));
+        g2.fillRoundRect(barX, y, barW, barH, barH, barH);
+        g2.setColor(new Color(255, 80, 80));
+        g2.fillRoundRect(barX, y, Math.round(barW * progress), barH, barH, barH);
+        g2.setStroke(new BasicStroke(2f));
+        g2.drawRoundRect(barX, y, barW, barH, barH, barH);
+    }
+
     /** วาดการ์ดมอนสเตอร์แต่ละตัว */
     private void drawMonsterCard(Graphics2D g2, int centerX, int topY, Color accent, String title, String description, BufferedImage img) {
         int cardW = 260, cardH = 240, corner = 25;
@@ -1,8 +1,8 @@
 package main;
 
 import entity.Monster;
-import entity.Player;
 import java.awt.Color;
+import java.awt.Component;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -12,102 +12,220 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-import javax.imageio.ImageIO;
-import javax.swing.JOptionPane;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
-import javax.swing.JTextField;
-import javax.swing.text.AbstractDocument;
-import javax.swing.text.AttributeSet;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.DocumentFilter;
+import system.AllocationLog;
+import system.AssetHandle;
+import system.AssetLoader;
+import system.AssetManager;
 import system.Config;
 import system.Door;
+import system.FixedTimestep;
+import system.FrameProfiler;
+import system.FrameProfiler.Phase;
+import system.GameEvents;
+import system.GameMetrics;
+import system.GameRandom;
+import system.GameWorld;
+import system.GcMonitor;
+import system.InputRecorder;
+import system.InputReplay;
 import system.Level;
-import system.Level.DoorHit;
+import system.LightMask;
 import system.Lighting;
+import system.PasswordPrompt;
 import system.Puzzle;
+import system.SpatialGrid;
+import system.SpriteCache;
 
-// จัดการลูปเกมหลัก การวาดภาพ และตรรกะการชนทั้งหมด
+// จัดการลูปเกมหลัก การวาดภาพ และอินพุต (ตรรกะของโลกอยู่ใน GameWorld)
 public class GamePanel extends JPanel implements ActionListener {
 
-    private final Random random = new Random();
-
-    private final Player player = new Player();
-    private final List<Monster> monsters = Monster.createDefaultMonsters();
-    private final List<Level> levels = new ArrayList<>();
-    private final Puzzle puzzle = new Puzzle();
+    // โลกของเกมและหน้าพัซเซิลถูกสร้างหลัง AssetLoader โหลดภาพเสร็จ (ระหว่างนั้นแสดงเมนูพร้อมแถบโหลด)
+    private GameWorld world;
+    private Puzzle puzzle;
+    private Integer shownPuzzle; // หมายเลขพัซเซิลที่ส่งให้ puzzle.show ล่าสุด (null = ไม่แสดง)
     private final GameMenu menu = new GameMenu();
+    private int gameWidth = Config.PANEL_WIDTH;
+    private int gameHeight = Config.PANEL_HEIGHT;
+    private long seed = GameRandom.newSeed(); // seed ของโลกที่จะสร้าง (กำหนดได้ด้วย --seed)
+
+    // บันทึก/เล่นซ้ำอินพุต (null = ไม่ใช้) tick ถูกนับตั้งแต่โลกถูกสร้าง รวม tick ที่ยังอยู่หน้าเมนู
+    private InputRecorder recorder;
+    private InputReplay replay;
+    private boolean replayMaxSpeed; // เล่นซ้ำเร็วที่สุดเท่าที่ทำได้ แทนความเร็วจริง 1x
+    private final InputReplay.Sink replaySink = new InputReplay.Sink() {
+        @Override
+        public void keyPressed(int code) {
+            handleKeyPressed(code);
+        }
+
+        @Override
+        public void keyReleased(int code) {
+            world.keyReleased(code);
+        }
+
+        @Override
+        public void resize(int width, int height) {
+            applyGameSize(width, height);
+        }
+    };
 
-    private BufferedImage background;
-    private int width = Config.PANEL_WIDTH;
-    private int height = Config.PANEL_HEIGHT;
+    private AssetHandle background;
+    private BufferedImage scaledBackground; // พื้นหลังขนาดเต็มจอ สร้างใหม่เฉพาะตอนเปลี่ยนขนาด
+    private final LightMask lightMask = new LightMask(Config.PANEL_WIDTH, Config.PANEL_HEIGHT); // mask แสงแบบใช้ซ้ำทุกเฟรม
+    private final SpatialGrid lightGrid = new SpatialGrid(Config.SPATIAL_CELL_SIZE); // แสงของเฟรมนี้แยกตามช่อง
 
-    private int levelIndex;
-    private Integer pendingReset;
-    private Level.DoorHit activeDoor;
     private boolean showMenu = true;
 
+    // จับเวลาแต่ละช่วงของเฟรม (F3 เปิด/ปิด overlay)
+    private final FrameProfiler profiler = new FrameProfiler();
+    private final ProfilerOverlay profilerOverlay = new ProfilerOverlay(FrameProfiler.DEFAULT_WINDOW);
+    private final GcMonitor gcMonitor = GcMonitor.getInstance();
+    private AllocationLog allocationLog; // ไฟล์บันทึกการจองหน่วยความจำ (null = ไม่บันทึก)
+    private GameMetrics metrics = GameMetrics.DISABLED; // ค่าที่ส่งให้ metrics endpoint
+    private boolean showProfiler;
+
+    // อินพุตจากคีย์บอร์ดถูกเก็บเข้าคิวแล้วค่อยประมวลผลใน tick() (ใช้ได้ทั้ง EDT และเธรดลูปเกม)
+    private final Queue<KeyEvent> pendingKeys = new ConcurrentLinkedQueue<>();
+    private final KeyAdapter keyHandler = new KeyAdapter() {
+        @Override
+        public void keyPressed(KeyEvent e) {
+            pendingKeys.add(e);
+        }
+
+        @Override
+        public void keyReleased(KeyEvent e) {
+            pendingKeys.add(e);
+        }
+    };
+    private Component surface = this; // component ที่แสดงผลและรับโฟกัสจริง (panel เอง หรือ Canvas ในโหมด active)
+    private final Timer timer = new Timer(Config.TIMER_DELAY_MS, this);
+
+    // จำลองโลกด้วย tick คงที่ แยกจากอัตราการวาดภาพ
+    private final FixedTimestep timestep = new FixedTimestep(Config.TICK_RATE, Config.MAX_TICKS_PER_FRAME);
+    private float renderAlpha = 1f; // สัดส่วนระหว่าง tick ล่าสุดสองครั้ง ใช้ interpolate ตอนวาด
+
     public GamePanel() {
         setFocusable(true);
         setBackground(Config.BACKGROUND_COLOR);
-        background = load("Pic/Background.png");
+        AssetLoader.loadAllAsync(); // ถ้ายังไม่เริ่มโหลด ให้เริ่มตอนนี้
+        addKeyListener(keyHandler);
+    }
 
-        // สร้างด่านทั้งหมดตามจำนวนที่กำหนดใน Config
-        for (int i = 0; i < Config.TOTAL_LEVELS; i++) {
-            levels.add(new Level(Config.DOOR_PER_LEVEL, Config.DOOR_SIZE));
+    // สร้างโลกของเกมเมื่อภาพทั้งหมดพร้อมแล้ว (เรียกบนเธรดลูปเกม)
+    private void ensureWorld() {
+        if (world != null || !AssetLoader.isLoaded()) return;
+
+        // โลกของเกม ใช้กล่องโต้ตอบของ Swing ในการขอรหัสผ่านประตู (ตอนเล่นซ้ำใช้คำตอบที่บันทึกไว้)
+        PasswordPrompt prompt = replay != null
+                ? replay.prompt()
+                : new DialogPasswordPrompt(() -> surface, this::focusSurface);
+        if (recorder != null) {
+            prompt = recorder.record(prompt);
+            recorder.start(seed, gameWidth, gameHeight);
         }
+        attachWorld(new GameWorld(gameWidth, gameHeight, Monster.createDefaultMonsters(), prompt, seed));
+    }
 
-        setupKeyboard();
-        resetLevel(0); // เริ่มจากเลเวลแรก
-        new Timer(Config.TIMER_DELAY_MS, this).start(); // ลูปเกมหลัก
+    // ใช้โลกที่สร้างไว้แล้ว (เช่นโลกที่มีมอนจำนวนมากของ stress test) แทนการสร้างเองตอนโหลดเสร็จ
+    public void attachWorld(GameWorld world) {
+        this.world = world;
+        if (background == null) background = AssetManager.acquire("Pic/Background.png");
+        if (puzzle == null) puzzle = new Puzzle();
+        shownPuzzle = null;
+        puzzle.clear();
+
+        world.setProfiler(profiler);
+        world.setMetrics(metrics);
+        // โหลดภาพ Puzzle ของด่านล่วงหน้าทุกครั้งที่ด่านถูกสุ่มใหม่
+        world.setLevelListener(level -> puzzle.prefetch(level.getPuzzleNumbers()));
+        puzzle.prefetch(world.getCurrentLevel().getPuzzleNumbers());
+        lightMask.resize(world.getWidth(), world.getHeight());
+        prepareBackground();
     }
 
-    private BufferedImage load(String path) {
-        try {
-            return ImageIO.read(new File(path));
-        } catch (IOException ex) {
-            return null;
-        }
+    // ย่อ/ขยายพื้นหลังให้พอดีขนาดเกมครั้งเดียว แทนการ scale ทุกเฟรม
+    private void prepareBackground() {
+        if (background == null || background.image() == null) return;
+        scaledBackground = SpriteCache.prepare(background.image(), world.getWidth(), world.getHeight(), false);
+    }
+
+    // เริ่มลูปเกมแบบ Swing Timer + repaint() (โหมดปกติ)
+    public void start() {
+        timer.start();
     }
 
-    // ตั้งค่าการควบคุมด้วยคีย์บอร์ด
-    private void setupKeyboard() {
-        addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyPressed(KeyEvent e) {
-                if (showMenu) {
-                    if (e.getKeyCode() == KeyEvent.VK_ENTER) {
-                        showMenu = false;
-                        requestFocusInWindow();
-                    }
-                    return;
-                }
-                // ถ้าอยู่ใน puzzle และกดปุ่มเคลื่อนที่ จะออกจากหน้าพัซเซิล
-                if (activeDoor != null && activeDoor.type() == Door.Type.PUZZLE && isMovementKey(e.getKeyCode())) {
-                    closeInteraction(levels.get(levelIndex));
-                } else {
-                    player.handleKeyPressed(e.getKeyCode());
-                }
+    // หยุดลูปเกมแบบ Swing Timer
+    public void stop() {
+        timer.stop();
+        timestep.reset();
+    }
+
+    // ให้ component อื่น (เช่น Canvas ของ ActiveRenderLoop) เป็นตัวรับคีย์บอร์ดและโฟกัสแทน panel
+    public void attachSurface(Component surface) {
+        this.surface = surface;
+        surface.addKeyListener(keyHandler);
+        surface.setFocusable(true);
+    }
+
+    // ประมวลผลอินพุตที่ค้างอยู่ในคิวทั้งหมด (เรียกต้น tick บนเธรดเดียวกับตรรกะเกม)
+    private void processInput() {
+        KeyEvent e;
+        while ((e = pendingKeys.poll()) != null) {
+            if (replay != null) {
+                // ตอนเล่นซ้ำ คีย์บอร์ดจริงใช้ได้แค่เปิด/ปิด overlay (ไม่ให้กระทบการจำลอง)
+                if (e.getID() == KeyEvent.KEY_PRESSED && e.getKeyCode() == KeyEvent.VK_F3) showProfiler = !showProfiler;
+                continue;
+            }
+            if (e.getID() == KeyEvent.KEY_PRESSED) {
+                if (recorder != null && world != null) recorder.keyPressed(e.getKeyCode());
+                handleKeyPressed(e.getKeyCode());
+            } else if (e.getID() == KeyEvent.KEY_RELEASED && world != null) {
+                if (recorder != null) recorder.keyReleased(e.getKeyCode());
+                world.keyReleased(e.getKeyCode());
             }
+        }
+        if (replay != null && world != null) replay.applyInput(replaySink);
+    }
 
-            @Override
-            public void keyReleased(KeyEvent e) {
-                player.handleKeyReleased(e.getKeyCode());
+    // จัดการการกดปุ่มจากคีย์บอร์ด
+    private void handleKeyPressed(int code) {
+        if (code == KeyEvent.VK_F3) {
+            showProfiler = !showProfiler;
+            return;
+        }
+        if (world == null) return; // ยังโหลดภาพไม่เสร็จ
+        if (showMenu) {
+            if (code == KeyEvent.VK_ENTER) {
+                showMenu = false;
+                focusSurface();
             }
-        });
+            return;
+        }
+        world.keyPressed(code);
     }
 
-    // ปรับขนาดพื้นที่เกมเมื่อหน้าต่างเปลี่ยนขนาด
+    // ปรับขนาดพื้นที่เกมเมื่อหน้าต่างเปลี่ยนขนาด (ตอนเล่นซ้ำใช้ขนาดจากไฟล์บันทึกแทน)
     public void setGameSize(int width, int height) {
-        this.width = Math.max(Config.DOOR_SIZE + 100, width);
-        this.height = Math.max(Config.DOOR_SIZE + 150, height);
-        resetLevel(levelIndex);
+        if (replay != null) return;
+        if (recorder != null && world != null) recorder.resize(width, height);
+        applyGameSize(width, height);
+    }
+
+    private void applyGameSize(int width, int height) {
+        gameWidth = width;
+        gameHeight = height;
+        if (world != null) {
+            world.resize(width, height);
+            lightMask.resize(world.getWidth(), world.getHeight());
+            prepareBackground();
+        }
         revalidate();
         repaint();
     }
@@ -118,21 +236,12 @@ public class GamePanel extends JPanel implements ActionListener {
         requestFocusInWindow(); // โฟกัสเพื่อรับ input
     }
 
-    // รีเซ็ตสถานะของเลเวลปัจจุบัน
-    private void resetLevel(int index) {
-        levelIndex = index;
-        pendingReset = null;
-        activeDoor = null;
-        puzzle.clear();
-
-        Level level = levels.get(levelIndex);
-        level.reset(width, height);
-        player.updateBounds(width, height);
-        player.spawn();
-
-        // เตรียมมอนสเตอร์สำหรับเลเวลนี้
-        for (Monster monster : monsters) {
-            monster.prepareForLevel(levelIndex, random, width, height);
+    // ขอโฟกัสให้ surface ที่รับอินพุต (ต้องทำบน EDT เสมอ)
+    private void focusSurface() {
+        if (SwingUtilities.isEventDispatchThread()) {
+            surface.requestFocusInWindow();
+        } else {
+            SwingUtilities.invokeLater(surface::requestFocusInWindow);
         }
     }
 
@@ -140,51 +249,112 @@ public class GamePanel extends JPanel implements ActionListener {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
+        render((Graphics2D) g);
+    }
+
+    // วาดทั้งฉากลง Graphics ที่ส่งมา (ใช้ทั้งจาก paintComponent และ BufferStrategy)
+    public void render(Graphics2D g2) {
+        GameEvents.Render event = new GameEvents.Render();
+        event.begin();
+        try {
+            renderFrame(g2, event);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.menu = showMenu || world == null;
+                event.levelIndex = world != null ? world.getLevelIndex() : -1;
+                event.commit();
+            }
+        }
+    }
+
+    private void renderFrame(Graphics2D g2, GameEvents.Render event) {
+        profiler.markFrame();
+        profiler.begin(Phase.RENDER);
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        if (world == null) {
+            // ระหว่างโหลดภาพ แสดงเมนูพร้อมแถบความคืบหน้า
+            g2.setColor(Config.BACKGROUND_COLOR);
+            g2.fillRect(0, 0, gameWidth, gameHeight);
+            menu.draw(g2, gameWidth, gameHeight, AssetLoader.progress());
+            return;
+        }
 
-        List<Lighting.LightSource> lights = Lighting.collect(player, monsters);
+        List<Lighting.LightSource> lights = Lighting.collect(world.getPlayer(), world.getMonsters(), renderAlpha);
+        event.lightCount = lights.size();
+        event.monsterCount = world.getMonsters().size();
+        profiler.begin(Phase.SPRITES);
         renderBaseSprites(g2, lights);
+        profiler.end(Phase.SPRITES);
+
+        profiler.begin(Phase.LIGHTING);
         renderLighting(g2, lights);
+        profiler.end(Phase.LIGHTING);
+
+        profiler.begin(Phase.OVERLAYS);
         renderOverlays(g2);
+        profiler.end(Phase.OVERLAYS);
+
         renderUI(g2);
+        profiler.end(Phase.RENDER);
+
+        if (allocationLog != null) allocationLog.update(profiler, gcMonitor);
+        metrics.publish(profiler, world);
+        if (showProfiler) profilerOverlay.draw(g2, profiler, gcMonitor, world.getWidth());
     }
 
     // วาดพื้นหลัง ผู้เล่น มอนสเตอร์ และประตู (เฉพาะที่มีแสง)
     private void renderBaseSprites(Graphics2D g2, List<Lighting.LightSource> lights) {
-        if (background != null) {
-            g2.drawImage(background, 0, 0, width, height, null);
+        int width = world.getWidth();
+        int height = world.getHeight();
+        if (scaledBackground != null) {
+            g2.drawImage(scaledBackground, 0, 0, null);
         } else {
             g2.setColor(Config.BACKGROUND_COLOR);
             g2.fillRect(0, 0, width, height);
         }
 
-        Level level = levels.get(levelIndex);
-        for (Door door : level.getDoors()) {
-            int cx = door.getX(width) + Config.DOOR_SIZE / 2;
-            int cy = door.getY(height) + Config.DOOR_SIZE / 2;
-            if (Lighting.isPointLit(cx, cy, lights)) {
-                door.draw(g2, width, height);
+        // วาดเฉพาะประตูที่อยู่ในแสง (ตรวจกับแสงในช่องเดียวกันของ grid)
+        Lighting.index(lights, lightGrid, width, height);
+        Level level = world.getCurrentLevel();
+        List<Door> doors = level.getDoors();
+        for (int i = 0; i < doors.size(); i++) {
+            int cx = level.getDoorX(i) + Config.DOOR_SIZE / 2;
+            int cy = level.getDoorY(i) + Config.DOOR_SIZE / 2;
+            if (Lighting.isPointLit(cx, cy, lights, lightGrid)) {
+                doors.get(i).draw(g2, width, height);
             }
         }
 
-        player.draw(g2);
-        for (Monster monster : monsters) monster.draw(g2);
+        world.getPlayer().draw(g2, renderAlpha);
+        for (Monster monster : world.getMonsters()) monster.draw(g2, renderAlpha);
+        world.getProjectiles().draw(g2, renderAlpha);
     }
 
     // วาดเอฟเฟกต์แสงซ้อนทับ
     private void renderLighting(Graphics2D g2, List<Lighting.LightSource> lights) {
-        g2.drawImage(Lighting.createMask(width, height, lights), 0, 0, null);
+        g2.drawImage(lightMask.render(lights), 0, 0, null);
     }
 
     // แสดง overlay ของ Puzzle เมื่อชนประตูพัซเซิล
     private void renderOverlays(Graphics2D g2) {
         if (showMenu) {
-            menu.draw(g2, width, height);
+            menu.draw(g2, world.getWidth(), world.getHeight(), 1f);
             return;
         }
-        if (activeDoor != null && activeDoor.type() == Door.Type.PUZZLE) {
-            puzzle.draw(g2, width, height);
+        puzzle.draw(g2, world.getWidth(), world.getHeight()); // ภาพถูกเลือกไว้แล้วใน updatePuzzle
+    }
+
+    // เปลี่ยนภาพพัซเซิลเฉพาะตอนประตูที่เปิดอยู่เปลี่ยน (เรียกหลัง world.tick ไม่ใช่ทุกเฟรมที่วาด)
+    private void updatePuzzle() {
+        Level.DoorHit activeDoor = world.getActiveDoor();
+        Integer number = activeDoor != null && activeDoor.type() == Door.Type.PUZZLE ? activeDoor.puzzleNumber() : null;
+        if (Objects.equals(number, shownPuzzle)) return;
+        shownPuzzle = number;
+        if (number != null) {
+            puzzle.show(number);
+        } else {
+            puzzle.clear();
         }
     }
 
@@ -193,176 +363,121 @@ public class GamePanel extends JPanel implements ActionListener {
         if (showMenu) return;
         g2.setColor(Color.WHITE);
         g2.setFont(new Font("SansSerif", Font.BOLD, 20));
-        g2.drawString("Level " + (levelIndex + 1), 20, 30);
+        g2.drawString("Level " + (world.getLevelIndex() + 1), 20, 30);
     }
 
     // ลูปหลักของเกม เรียกทุกครั้งเมื่อ Timer ทำงาน
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (showMenu) {
-            repaint();
-            return;
-        }
-
-        Level level = levels.get(levelIndex);
-        level.getDoors().forEach(Door::updateAnimation);
-
-        // อัปเดตผู้เล่น
-        if (activeDoor == null || player.isDead()) player.update();
-
-        // จัดการสถานะหลังตาย / รีเซ็ตเลเวล
-        if (player.isDead() && pendingReset == null) {
-            pendingReset = 0;
-        }
+        advance(System.nanoTime());
+        repaint();
+    }
 
-        if (pendingReset != null && player.isDeathAnimationFinished()) {
-            resetLevel(pendingReset);
-            repaint();
+    // รัน tick ตามเวลาที่สะสม (0 ครั้งขึ้นไป) แล้วเก็บ alpha ไว้ใช้ตอนวาด
+    public void advance(long now) {
+        // กล่องรหัสผ่านเป็น modal: event loop ซ้อนของ Swing ยังส่ง Timer เข้ามาระหว่างรอคำตอบ
+        // ห้าม tick ซ้อนเข้าไปกลาง tick ที่ค้างอยู่ และทิ้งเวลาที่ผ่านไประหว่างรอ ไม่ให้ปิดกล่องแล้ว tick รัวตามหลัง
+        if (world != null && world.isPrompting()) {
+            timestep.reset();
             return;
         }
 
-        if (player.isDead() || activeDoor != null) {
-            repaint();
-            return;
+        GameEvents.GameLoop event = new GameEvents.GameLoop();
+        event.begin();
+
+        int steps;
+        if (replay != null && replayMaxSpeed) {
+            // เล่นซ้ำเร็วสุด: รัน tick ต่อเนื่องจนหมดเวลาของหนึ่งเฟรม แล้วค่อยวาด
+            steps = 0;
+            long deadline = now + Config.TIMER_DELAY_MS * 1_000_000L;
+            do {
+                tick();
+                steps++;
+            } while (!replay.isFinished() && System.nanoTime() < deadline);
+            renderAlpha = 1f;
+        } else {
+            steps = timestep.advance(now);
+            for (int i = 0; i < steps; i++) {
+                tick();
+            }
+            renderAlpha = timestep.alpha();
         }
 
-        // อัปเดตมอนสเตอร์และตรวจการชน
-        Monster.updateAll(monsters, player, level);
-        handleCollisions(level);
-        repaint();
+        event.end();
+        if (event.shouldCommit()) {
+            event.ticks = steps;
+            event.levelIndex = world != null ? world.getLevelIndex() : -1;
+            event.commit();
+        }
     }
 
-    // ตรวจการชนของผู้เล่นกับประตูและมอนสเตอร์
-    private void handleCollisions(Level level) {
-        DoorHit hit = level.detectDoorCollision(player);
-        if (hit != null) {
-            activeDoor = hit;
-            player.stopImmediately();
-
-            if (hit.type() == Door.Type.PUZZLE) {
-                puzzle.show(hit.puzzleNumber());
-                return;
-            }
-
-            puzzle.clear();
-            promptPassword(level, hit);
-            return;
+    // รับอินพุตแล้วอัปเดตโลกของเกมหนึ่งสเต็ป (ไม่วาดภาพ)
+    public void tick() {
+        ensureWorld();
+        if (world != null && world.isPrompting()) return; // ถูกเรียกซ้อนระหว่างรอรหัสผ่าน (ดู advance)
+        if (replay != null && world != null && replay.isFinished()) return; // เล่นซ้ำจบแล้ว หยุดโลกไว้ที่ tick สุดท้าย
+        processInput();
+        if (world == null) return;
+        if (!showMenu) {
+            profiler.begin(Phase.TICK);
+            world.tick();
+            profiler.end(Phase.TICK);
         }
-
-        // ชนมอนสเตอร์ -> ตายและรีเซ็ต
-        for (Monster monster : monsters) {
-            if (monster.isActive() && player.intersects(monster)) {
-                player.die();
-                pendingReset = 0;
-                break;
-            }
+        updatePuzzle();
+        if (recorder != null) recorder.endTick(world);
+        if (replay != null) {
+            replay.endTick(world);
+            if (replay.isFinished()) System.out.println(replay.summary());
         }
     }
 
-    // กล่องใส่รหัสผ่านเมื่อชนประตูไปต่อ/ย้อนกลับ
-    private void promptPassword(Level level, DoorHit hit) {
-        String input = showNumericInputDialog("Please enter password", "รหัสประตู");
-
-        if (level.validatePassword(input)) {
-            int next = hit.type() == Door.Type.ADVANCE
-                    ? (levelIndex + 1) % Config.TOTAL_LEVELS
-                    : Math.max(0, levelIndex - 1);
-
-            if (next != levelIndex) {
-                resetLevel(next);
-            } else {
-                closeInteraction(level);
-            }
-            requestFocusInWindow();
-            return;
-        }
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
 
-        if (input != null) {
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Incorrect Answer Hint : sum",
-                    "Wrong Answer",
-                    JOptionPane.WARNING_MESSAGE
-            );
-        }
-        closeInteraction(level);
-    }
-
-    // แสดงกล่องกรอกข้อมูลที่รับเฉพาะตัวเลขเท่านั้น ถ้า Cancel จะคืนค่าเป็น null
-    private String showNumericInputDialog(String message, String title) {
-        JTextField field = new JTextField();
-        field.setColumns(6);
-        ((AbstractDocument) field.getDocument()).setDocumentFilter(new DigitsOnlyFilter());
-
-        while (true) {
-            int option = JOptionPane.showConfirmDialog(
-                    this,
-                    new Object[]{message, field},
-                    title,
-                    JOptionPane.OK_CANCEL_OPTION,
-                    JOptionPane.QUESTION_MESSAGE
-            );
-
-            if (option != JOptionPane.OK_OPTION) {
-                return null;
-            }
+    // บันทึกการจองหน่วยความจำต่อเฟรมและสถิติ GC ลงไฟล์ทุกวินาที (ต้องเรียกก่อนลูปเกมเริ่ม เพราะเธรดลูปอ่าน field นี้โดยไม่ lock)
+    public void setAllocationLog(AllocationLog allocationLog) {
+        this.allocationLog = allocationLog;
+    }
 
-            String text = field.getText();
-            if (text != null && !text.isBlank()) {
-                return text.trim();
-            }
+    // seed ของโลก ต้องเรียกก่อนโลกถูกสร้าง (ก่อนภาพโหลดเสร็จ) จึงจะมีผล
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
 
-            JOptionPane.showMessageDialog(
-                    this,
-                    "กรุณากรอกตัวเลขก่อนกดตกลง",
-                    "ข้อมูลไม่ครบถ้วน",
-                    JOptionPane.WARNING_MESSAGE
-            );
-        }
+    // บันทึกอินพุตทั้งหมดตั้งแต่โลกถูกสร้าง (ต้องเรียกก่อนโลกถูกสร้าง)
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
     }
 
-    // DocumentFilter สำหรับยอมให้พิมพ์เฉพาะตัวเลข 0-9
-    private static class DigitsOnlyFilter extends DocumentFilter {
-        @Override
-        public void insertString(FilterBypass fb, int offset, String string, AttributeSet attr) throws BadLocationException {
-            if (string == null || string.isEmpty() || isNumeric(string)) {
-                super.insertString(fb, offset, string, attr);
-            }
+    // เล่นซ้ำจากไฟล์บันทึก: ใช้ seed และขนาดจอจากไฟล์ และไม่รับอินพุตจริง (ต้องเรียกก่อนโลกถูกสร้าง)
+    public void setReplay(InputReplay replay, boolean maxSpeed) {
+        this.replay = replay;
+        this.replayMaxSpeed = maxSpeed;
+        if (replay != null) {
+            seed = replay.seed();
+            gameWidth = replay.width();
+            gameHeight = replay.height();
         }
+    }
 
-        @Override
-        public void replace(FilterBypass fb, int offset, int length, String text, AttributeSet attrs) throws BadLocationException {
-            if (text == null || text.isEmpty() || isNumeric(text)) {
-                super.replace(fb, offset, length, text, attrs);
-            }
-        }
+    public long getSeed() {
+        return world != null ? world.getSeed() : seed;
+    }
 
-        private boolean isNumeric(String text) {
-            for (int i = 0; i < text.length(); i++) {
-                if (!Character.isDigit(text.charAt(i))) {
-                    return false;
-                }
-            }
-            return true;
-        }
+    // นับ tick/การตาย/การรีเซ็ต และคัดลอกเวลาเฟรมให้ metrics endpoint
+    // ต้องเรียกก่อนลูปเกมเริ่ม ไม่อย่างนั้นเธรดลูปอาจสร้างโลกด้วย DISABLED ไปแล้วโดยไม่เห็นค่าใหม่
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics != null ? metrics : GameMetrics.DISABLED;
+        if (world != null) world.setMetrics(this.metrics);
     }
 
-    // ปิดหน้าพัซเซิล / กลับเข้าสู่การควบคุมปกติ
-    private void closeInteraction(Level level) {
-        if (activeDoor != null) {
-            level.pushAway(player, activeDoor.door());
-        }
-        activeDoor = null;
-        puzzle.clear();
-        requestFocusInWindow();
+    public GameWorld getWorld() {
+        return world;
     }
 
-    // ตรวจว่าปุ่มที่กดเป็นปุ่มเคลื่อนที่หรือไม่
-    private boolean isMovementKey(int code) {
-        return switch (code) {
-            case KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_UP, KeyEvent.VK_DOWN,
-                 KeyEvent.VK_A, KeyEvent.VK_D, KeyEvent.VK_W, KeyEvent.VK_S -> true;
-            default -> false;
-        };
+    // เปิดให้ตรวจสอบจำนวนการจอง/ใช้ซ้ำของ mask แสง
+    public LightMask getLightMask() {
+        return lightMask;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package main;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import system.FrameProfiler;
+import system.FrameProfiler.Phase;
+import system.GcMonitor;
+
+/**
+ * ProfilerOverlay — หน้าต่างโปร่งแสงมุมขวาบน (เปิด/ปิดด้วย F3)
+ * แสดง p50/p95/p99/max และไบต์ที่จองต่อครั้งของแต่ละช่วงในเฟรม สถิติ GC
+ * และกราฟเวลาต่อเฟรมพร้อมเส้น 60/30 FPS
+ */
+public class ProfilerOverlay {
+
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 13);
+    private static final Color PANEL = new Color(0, 0, 0, 190);
+    private static final Color GRAPH = new Color(80, 220, 120);
+    private static final Color SLOW = new Color(255, 80, 80);
+    private static final Stroke GUIDE = new BasicStroke(1f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 1f, new float[]{4f, 4f}, 0f);
+
+    private static final int WIDTH = 540;
+    private static final int LINE = 16;
+    private static final int GRAPH_HEIGHT = 90;
+    private static final long GRAPH_SCALE_NANOS = 50_000_000L; // ความสูงกราฟเต็ม = 50 ms
+    private static final long FRAME_60 = 16_666_667L;
+    private static final long FRAME_30 = 33_333_333L;
+    private static final long[] GUIDES = {FRAME_60, FRAME_30};
+
+    // จองไว้ครั้งเดียว ไม่สร้างอาร์เรย์ใหม่ทุกเฟรม
+    private final long[] stats = new long[4];
+    private final long[] graph;
+
+    public ProfilerOverlay(int graphSamples) {
+        this.graph = new long[graphSamples];
+    }
+
+    public void draw(Graphics2D g, FrameProfiler profiler, GcMonitor gc, int screenWidth) {
+        Phase[] phases = Phase.values();
+        int height = 28 + (phases.length + 2) * LINE + 10 + GRAPH_HEIGHT + 12;
+        int left = screenWidth - WIDTH - 12;
+        int top = 12;
+
+        g.setColor(PANEL);
+        g.fillRect(left, top, WIDTH, height);
+        g.setFont(FONT);
+
+        // ตารางเวลาแต่ละช่วง (มิลลิวินาที)
+        g.setColor(Color.LIGHT_GRAY);
+        int y = top + 20;
+        g.drawString(String.format("%-18s %7s %7s %7s %7s %8s", "phase (ms)", "p50", "p95", "p99", "max", "KB/call"),
+                left + 10, y);
+        for (Phase phase : phases) {
+            y += LINE;
+            profiler.percentiles(phase, stats);
+            g.setColor(phase == Phase.FRAME && stats[1] > FRAME_60 ? SLOW : Color.WHITE);
+            g.drawString(String.format("%-18s %7.2f %7.2f %7.2f %7.2f %8.1f", phase.label(),
+                    stats[0] / 1e6, stats[1] / 1e6, stats[2] / 1e6, stats[3] / 1e6,
+                    profiler.averageBytes(phase) / 1024.0), left + 10, y);
+        }
+
+        // สถิติ GC และ heap ของทั้ง JVM
+        g.setColor(Color.LIGHT_GRAY);
+        y += LINE;
+        g.drawString(String.format("GC %d times, %d ms total, max pause %d ms", gc.getCollectionCount(),
+                gc.getCollectionMillis(), gc.getMaxPauseMillis()), left + 10, y);
+        y += LINE;
+        g.drawString(String.format("last %s %d ms, heap %d MB", gc.getLastCollector(), gc.getLastPauseMillis(),
+                gc.getHeapUsed() >> 20), left + 10, y);
+
+        drawGraph(g, profiler, left + 10, y + 10, WIDTH - 20);
+    }
+
+    // กราฟเวลาต่อเฟรมล่าสุด (เฟรมที่ช้ากว่า 60 FPS เป็นสีแดง)
+    private void drawGraph(Graphics2D g, FrameProfiler profiler, int x, int y, int width) {
+        int n = profiler.recent(Phase.FRAME, graph);
+        int bottom = y + GRAPH_HEIGHT;
+
+        Stroke old = g.getStroke();
+        g.setStroke(GUIDE);
+        g.setColor(Color.GRAY);
+        for (long guide : GUIDES) {
+            int gy = bottom - scale(guide);
+            g.drawLine(x, gy, x + width, gy);
+        }
+        g.setStroke(old);
+        g.drawString("16.7", x + width - 34, bottom - scale(FRAME_60) - 2);
+        g.drawString("33.3", x + width - 34, bottom - scale(FRAME_30) - 2);
+
+        // วาดแท่งละหนึ่งเฟรมจากขวา (ล่าสุด) ไปซ้าย
+        int bars = Math.min(n, width);
+        for (int i = 0; i < bars; i++) {
+            long nanos = graph[n - 1 - i];
+            g.setColor(nanos > FRAME_60 ? SLOW : GRAPH);
+            int bx = x + width - 1 - i;
+            g.drawLine(bx, bottom, bx, bottom - scale(nanos));
+        }
+    }
+
+    private static int scale(long nanos) {
+        return (int) (Math.min(nanos, GRAPH_SCALE_NANOS) * GRAPH_HEIGHT / GRAPH_SCALE_NANOS);
+    }
+}
@@ -0,0 +1,84 @@
+package system;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import system.FrameProfiler.Phase;
+
+/**
+ * AllocationLog — เขียนสรุปการจองหน่วยความจำและ GC ลงไฟล์ CSV ทุกช่วงเวลาที่กำหนด
+ * แต่ละบรรทัดคือค่าเฉลี่ยไบต์ที่จองต่อครั้งของแต่ละช่วงในเฟรม (เฉพาะช่วงเวลานั้น)
+ * พร้อม heap ที่ใช้ จำนวน/เวลา GC และเวลาหยุดสูงสุด
+ */
+public class AllocationLog implements AutoCloseable {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final BufferedWriter out;
+    private final long intervalNanos;
+    private final long startNanos = System.nanoTime();
+    private long lastWrite = startNanos;
+
+    // ค่าสะสม ณ ตอนเขียนบรรทัดก่อนหน้า (ใช้หาค่าเฉพาะช่วง)
+    private final long[] lastBytes = new long[PHASES.length];
+    private final long[] lastCounts = new long[PHASES.length];
+    private long lastGcCount;
+    private long lastGcMillis;
+
+    public AllocationLog(Path file, long intervalMillis) throws IOException {
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.intervalNanos = Math.max(1, intervalMillis) * 1_000_000L;
+
+        StringBuilder header = new StringBuilder("time_s,frames");
+        for (Phase phase : PHASES) header.append(',').append(phase.label()).append("_bytes");
+        header.append(",heap_used_mb,gc_count,gc_ms,gc_max_pause_ms,last_gc");
+        out.write(header.toString());
+        out.newLine();
+        out.flush();
+    }
+
+    // เรียกทุกเฟรม จะเขียนจริงเมื่อครบช่วงเวลา
+    public void update(FrameProfiler profiler, GcMonitor gc) {
+        long now = System.nanoTime();
+        if (now - lastWrite < intervalNanos) return;
+        lastWrite = now;
+
+        StringBuilder line = new StringBuilder(160);
+        long frames = profiler.count(Phase.FRAME) - lastCounts[Phase.FRAME.ordinal()];
+        line.append(String.format(Locale.ROOT, "%.1f,%d", (now - startNanos) / 1e9, frames));
+        for (Phase phase : PHASES) {
+            int p = phase.ordinal();
+            long bytes = profiler.totalBytes(phase) - lastBytes[p];
+            long calls = profiler.count(phase) - lastCounts[p];
+            line.append(',').append(calls == 0 ? 0 : bytes / calls);
+            lastBytes[p] = profiler.totalBytes(phase);
+            lastCounts[p] = profiler.count(phase);
+        }
+
+        long gcCount = gc.getCollectionCount();
+        long gcMillis = gc.getCollectionMillis();
+        line.append(',').append(gc.getHeapUsed() >> 20)
+                .append(',').append(gcCount - lastGcCount)
+                .append(',').append(gcMillis - lastGcMillis)
+                .append(',').append(gc.getMaxPauseMillis())
+                .append(',').append(gc.getLastCollector().replace(',', ' '));
+        lastGcCount = gcCount;
+        lastGcMillis = gcMillis;
+
+        try {
+            out.write(line.toString());
+            out.newLine();
+            out.flush();
+        } catch (IOException ex) {
+            System.err.println("⚠ Cannot write allocation log: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
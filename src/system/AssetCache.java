@@ -0,0 +1,172 @@
+package system;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AssetCache — ไฟล์แคชภาพที่ถอดรหัสแล้ว (พิกเซล ARGB แบบ premultiplied) ไฟล์เดียว
+ * เปิดด้วย FileChannel.map แล้วคัดลอกพิกเซลเข้า raster ของ BufferedImage ตรง ๆ ไม่ต้องถอดรหัส PNG ซ้ำ
+ * แต่ละรายการผูกกับขนาดไฟล์และเวลาแก้ไขของไฟล์ต้นฉบับ ถ้าไม่ตรงถือว่าหมดอายุ
+ * มีไฟล์สองช่องสลับกัน: เปิดช่องที่เขียนล่าสุด แล้วเขียนแคชใหม่ลงอีกช่อง เพราะ mapping จะถูกปล่อยตอน GC เท่านั้น
+ * และบน Windows ไฟล์ที่ยัง map อยู่ย้ายทับหรือลบไม่ได้
+ *
+ * รูปแบบไฟล์: [magic][version][byteOrder][count] ตามด้วยสารบัญ
+ * (path, size, mtime, type, width, height, offset) และข้อมูลพิกเซลเรียงต่อกัน
+ */
+final class AssetCache {
+
+    private static final int MAGIC = 0x53444D43; // "SDMC"
+    private static final int VERSION = 1;
+    private static final String[] SLOTS = {"assets.0.bin", "assets.1.bin"}; // ชื่อไฟล์สองช่องในโฟลเดอร์แคช
+
+    // ข้อมูลของภาพหนึ่งรายการในสารบัญ
+    private record Entry(long size, long modified, int type, int width, int height, long offset) {}
+
+    private final MappedByteBuffer data;
+    private final Map<String, Entry> entries;
+    private final Path next; // ช่องที่ใช้เขียนแคชรอบนี้ (ไม่ใช่ไฟล์ที่ map อยู่)
+
+    private AssetCache(MappedByteBuffer data, Map<String, Entry> entries, Path next) {
+        this.data = data;
+        this.entries = entries;
+        this.next = next;
+    }
+
+    // เปิดช่องที่เขียนล่าสุดในโฟลเดอร์แคช (ถ้าไม่มีหรือรูปแบบไม่ถูกต้อง จะได้แคชว่าง)
+    static AssetCache open(Path dir) {
+        Path first = dir.resolve(SLOTS[0]);
+        Path second = dir.resolve(SLOTS[1]);
+        Path file = lastModified(second) > lastModified(first) ? second : first;
+        Path next = file == first ? second : first;
+        if (!Files.isRegularFile(file)) return new AssetCache(null, Map.of(), next);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.getInt() != MAGIC || data.getInt() != VERSION) return new AssetCache(null, Map.of(), next);
+            ByteOrder order = data.get() == 1 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+            data.order(order);
+
+            int count = data.getInt();
+            Map<String, Entry> entries = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[data.getShort()];
+                data.get(name);
+                entries.put(new String(name, StandardCharsets.UTF_8), new Entry(
+                        data.getLong(), data.getLong(), data.getInt(), data.getInt(), data.getInt(), data.getLong()));
+            }
+            return new AssetCache(data, entries, next);
+        } catch (IOException | RuntimeException ex) {
+            // ไฟล์เสียหรืออ่านไม่ครบ ให้สร้างใหม่ภายหลัง
+            return new AssetCache(null, Map.of(), next);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException ex) {
+            return -1; // ยังไม่มีไฟล์
+        }
+    }
+
+    // ดึงภาพจากแคช ถ้าขนาด/เวลาแก้ไขของไฟล์ต้นฉบับไม่ตรงจะคืน null
+    BufferedImage get(String path, long size, long modified) {
+        Entry entry = entries.get(path);
+        if (entry == null || entry.size() != size || entry.modified() != modified) return null;
+
+        BufferedImage image = new BufferedImage(entry.width(), entry.height(), entry.type());
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+        // duplicate() ทำให้หลายเธรดอ่านพร้อมกันได้โดยไม่แย่ง position กัน
+        ByteBuffer view = data.duplicate().order(data.order());
+        view.position((int) entry.offset());
+        IntBuffer source = view.asIntBuffer();
+        source.get(pixels, 0, entry.width() * entry.height());
+        return image;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // เขียนแคชใหม่ทั้งไฟล์ลงช่องที่ไม่ได้ map อยู่ (เปิดครั้งหน้าจะได้ช่องนี้เพราะใหม่กว่า)
+    void write(Map<String, BufferedImage> images, Map<String, long[]> stamps) throws IOException {
+        write(next, images, stamps);
+    }
+
+    // เขียนไฟล์แคชใหม่ทั้งไฟล์จากภาพที่ถอดรหัสแล้ว (เขียนไฟล์ชั่วคราวก่อนแล้วค่อยย้ายทับ)
+    private static void write(Path file, Map<String, BufferedImage> images, Map<String, long[]> stamps) throws IOException {
+        Map<String, int[]> pixels = new HashMap<>();
+        Map<String, BufferedImage> converted = new HashMap<>();
+        int headerSize = 4 + 4 + 1 + 4;
+        for (Map.Entry<String, BufferedImage> e : images.entrySet()) {
+            if (!stamps.containsKey(e.getKey())) continue;
+            BufferedImage image = toIntImage(e.getValue());
+            converted.put(e.getKey(), image);
+            pixels.put(e.getKey(), ((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+            headerSize += 2 + e.getKey().getBytes(StandardCharsets.UTF_8).length + 8 + 8 + 4 + 4 + 4 + 8;
+        }
+
+        long offset = headerSize;
+        // magic/version/byteOrder เขียนแบบ big-endian เสมอ ส่วนที่เหลือใช้ลำดับไบต์ของเครื่อง
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        header.putInt(MAGIC).putInt(VERSION);
+        header.put((byte) (ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN ? 1 : 0));
+        header.order(ByteOrder.nativeOrder());
+        header.putInt(converted.size());
+        for (Map.Entry<String, BufferedImage> e : converted.entrySet()) {
+            byte[] name = e.getKey().getBytes(StandardCharsets.UTF_8);
+            BufferedImage image = e.getValue();
+            long[] stamp = stamps.get(e.getKey());
+            header.putShort((short) name.length).put(name);
+            header.putLong(stamp[0]).putLong(stamp[1]);
+            header.putInt(image.getType()).putInt(image.getWidth()).putInt(image.getHeight());
+            header.putLong(offset);
+            offset += 4L * image.getWidth() * image.getHeight();
+        }
+        header.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.write(header);
+            for (String key : converted.keySet()) {
+                int[] data = pixels.get(key);
+                ByteBuffer chunk = ByteBuffer.allocate(data.length * 4).order(ByteOrder.nativeOrder());
+                chunk.asIntBuffer().put(data);
+                while (chunk.hasRemaining()) channel.write(chunk);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // แปลงภาพเป็น INT_ARGB_PRE (หรือ INT_RGB ถ้าภาพทึบ) เพื่อเก็บพิกเซลเป็น int ตรง ๆ
+    private static BufferedImage toIntImage(BufferedImage source) {
+        int type = source.getColorModel().getTransparency() == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB_PRE;
+        if (source.getType() == type) return source;
+
+        BufferedImage image = new BufferedImage(source.getWidth(), source.getHeight(), type);
+        Graphics2D g = image.createGraphics();
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,43 @@
+package system;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * AssetHandle — สิทธิ์ใช้ภาพหนึ่งไฟล์จาก AssetManager
+ * ภาพถูกใช้ร่วมกันระหว่างผู้ถือทุกคน ห้ามวาดทับหรือแก้พิกเซล (ถ้าต้องการแก้ให้คัดลอกก่อน)
+ * เรียก release() เมื่อไม่ใช้แล้ว การเรียกซ้ำจะไม่มีผล
+ */
+public final class AssetHandle implements AutoCloseable {
+
+    private final AssetManager.Entry entry;
+    private boolean released;
+
+    AssetHandle(AssetManager.Entry entry) {
+        this.entry = entry;
+    }
+
+    public String path() {
+        return entry.path;
+    }
+
+    // ภาพที่ถอดรหัสแล้ว (null ถ้าไฟล์ไม่มีหรืออ่านไม่ได้)
+    public BufferedImage image() {
+        return entry.image;
+    }
+
+    // ขนาดพิกเซลที่ถอดรหัสแล้วของภาพนี้ (ไบต์)
+    public long bytes() {
+        return entry.bytes;
+    }
+
+    public synchronized void release() {
+        if (released) return;
+        released = true;
+        AssetManager.release(entry);
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+}
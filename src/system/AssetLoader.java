@@ -0,0 +1,214 @@
+package system;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+
+/**
+ * AssetLoader — ถอดรหัสภาพ PNG ทั้งหมดของเกมแบบขนานบน worker pool
+ * เริ่มโหลดตั้งแต่เปิดโปรแกรม ให้เมนูแสดงความคืบหน้า แล้วเผยแพร่ชุดภาพแบบ immutable เมื่อเสร็จ
+ * ถ้ามีคนขอภาพก่อนโหลดเสร็จ (เช่นรันแบบ headless โดยไม่ preload) จะถอดรหัสทันทีแทน
+ */
+public final class AssetLoader {
+
+    private static final String ROOT = "Pic"; // โฟลเดอร์ภาพทั้งหมดของเกม
+    private static final String LAZY_DIR = "Pic/character/puzzle/"; // ภาพที่โหลดเมื่อใช้จริง ไม่ preload
+    private static final Path CACHE_DIR = Path.of("cache"); // โฟลเดอร์แคชพิกเซลที่ถอดรหัสแล้ว
+
+    private static final Map<String, BufferedImage> DECODED = new ConcurrentHashMap<>();
+    private static final Set<String> FAILED = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger COMPLETED = new AtomicInteger();
+    private static final AtomicInteger CACHE_HITS = new AtomicInteger();
+    private static final Map<String, long[]> STAMPS = new ConcurrentHashMap<>(); // ขนาด/เวลาแก้ไขของไฟล์ต้นฉบับ
+    private static final Set<String> WRITING = ConcurrentHashMap.newKeySet(); // ภาพ lazy ที่กำลังเขียนแคชอยู่
+
+    private static volatile int total;
+    private static volatile Map<String, BufferedImage> published; // ชุดภาพ immutable หลังโหลดเสร็จ
+    private static CompletableFuture<Map<String, BufferedImage>> loading;
+
+    private AssetLoader() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    // เริ่มโหลดภาพทุกไฟล์แบบขนาน (เรียกซ้ำได้ จะเริ่มแค่ครั้งเดียว)
+    public static synchronized CompletableFuture<Map<String, BufferedImage>> loadAllAsync() {
+        if (loading != null) return loading;
+
+        ImageIO.setUseCache(false); // ถอดรหัสในหน่วยความจำ ไม่ต้องเขียนไฟล์ cache ลงดิสก์
+        List<String> paths = manifest();
+        total = paths.size();
+        AssetCache cache = AssetCache.open(CACHE_DIR);
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        CompletableFuture<?>[] tasks = paths.stream()
+                .map(path -> CompletableFuture.runAsync(() -> {
+                    load(path, cache);
+                    COMPLETED.incrementAndGet();
+                }, pool))
+                .toArray(CompletableFuture[]::new);
+
+        loading = CompletableFuture.allOf(tasks).thenApply(done -> {
+            publish();
+            // มีภาพที่ต้องถอดรหัสใหม่ ให้เขียนแคชใหม่เบื้องหลัง รอบหน้าจะได้ไม่ต้องถอดรหัส PNG อีก
+            if (CACHE_HITS.get() < published.size()) {
+                CompletableFuture.runAsync(() -> writeCache(cache), pool).whenComplete((r, ex) -> pool.shutdown());
+            } else {
+                pool.shutdown();
+            }
+            return published;
+        });
+        return loading;
+    }
+
+    // จำนวนภาพที่อ่านจากแคชได้โดยไม่ต้องถอดรหัส PNG
+    public static int cacheHits() {
+        return CACHE_HITS.get();
+    }
+
+    // สัดส่วนการโหลด 0–1 (ใช้วาดแถบความคืบหน้า)
+    public static float progress() {
+        if (published != null) return 1f;
+        int count = total;
+        return count == 0 ? 0f : Math.min(1f, COMPLETED.get() / (float) count);
+    }
+
+    public static boolean isLoaded() {
+        return published != null;
+    }
+
+    // ชุดภาพทั้งหมดที่โหลดเสร็จแล้ว (null ถ้ายังโหลดไม่เสร็จ)
+    public static Map<String, BufferedImage> assets() {
+        return published;
+    }
+
+    // ดึงภาพตาม path (คืน null ถ้าไฟล์ไม่มีหรืออ่านไม่ได้) ส่วนอื่นของเกมขอภาพผ่าน AssetManager
+    static BufferedImage image(String path) {
+        String key = normalize(path);
+        Map<String, BufferedImage> ready = published;
+        if (ready != null && ready.containsKey(key)) return ready.get(key);
+
+        BufferedImage image = DECODED.get(key);
+        if (image != null || FAILED.contains(key)) return image;
+        return key.startsWith(LAZY_DIR) ? loadLazy(key) : decode(key);
+    }
+
+    // ลืมภาพที่ไม่มีใครใช้แล้ว (เรียกจาก AssetManager เมื่อ handle ถูกคืนครบ)
+    static synchronized void evict(String key) {
+        if (DECODED.remove(key) == null) return;
+        Map<String, BufferedImage> ready = published;
+        if (ready != null && ready.containsKey(key)) publish();
+    }
+
+    // เผยแพร่ชุดภาพใหม่จาก DECODED ผู้เขียน published ทุกคนผ่านเมธอดนี้ภายใต้ lock เดียวกัน
+    // (ไม่อย่างนั้น evict สองครั้งพร้อมกัน หรือ evict ขณะโหลดเสร็จ อาจเขียนทับชุดที่ใหม่กว่าด้วยชุดเก่า)
+    private static synchronized void publish() {
+        published = Map.copyOf(DECODED);
+    }
+
+    // รายชื่อไฟล์ภาพที่ต้อง preload ใต้โฟลเดอร์ Pic (ยกเว้นภาพ Puzzle ที่โหลดเมื่อใช้จริง)
+    public static List<String> manifest() {
+        Path root = Path.of(ROOT);
+        if (!Files.isDirectory(root)) return List.of();
+
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                    .map(Path::toString)
+                    .filter(name -> name.toLowerCase().endsWith(".png"))
+                    .map(AssetLoader::normalize)
+                    .filter(name -> !name.startsWith(LAZY_DIR))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // อ่านภาพจากแคชถ้าไฟล์ต้นฉบับไม่เปลี่ยน ไม่อย่างนั้นถอดรหัสจาก PNG
+    private static void load(String key, AssetCache cache) {
+        try {
+            Path file = Path.of(key);
+            long[] stamp = {Files.size(file), Files.getLastModifiedTime(file).toMillis()};
+            STAMPS.put(key, stamp);
+
+            BufferedImage cached = cache.get(key, stamp[0], stamp[1]);
+            if (cached != null) {
+                DECODED.putIfAbsent(key, cached);
+                CACHE_HITS.incrementAndGet();
+                return;
+            }
+        } catch (IOException | RuntimeException ex) {
+            // อ่านแคชไม่ได้ ถอดรหัสจากไฟล์ต้นฉบับแทน
+        }
+        decode(key);
+    }
+
+    // ภาพที่โหลดเมื่อใช้จริงมีแคชแยกต่อภาพ (โฟลเดอร์ละภาพ) เพราะแคชหลักเขียนครั้งเดียวตอน preload เสร็จ
+    // อ่านจากแคชถ้าไฟล์ต้นฉบับไม่เปลี่ยน ไม่อย่างนั้นถอดรหัสแล้วเขียนแคชเบื้องหลัง
+    private static BufferedImage loadLazy(String key) {
+        Path dir = CACHE_DIR.resolve("lazy").resolve(key.replace('/', '_'));
+        long[] stamp;
+        AssetCache cache;
+        try {
+            Path file = Path.of(key);
+            stamp = new long[] {Files.size(file), Files.getLastModifiedTime(file).toMillis()};
+            cache = AssetCache.open(dir);
+            BufferedImage cached = cache.get(key, stamp[0], stamp[1]);
+            if (cached != null) {
+                BufferedImage existing = DECODED.putIfAbsent(key, cached);
+                return existing != null ? existing : cached;
+            }
+        } catch (IOException | RuntimeException ex) {
+            return decode(key); // อ่านแคชไม่ได้ ถอดรหัสจากไฟล์ต้นฉบับแทน
+        }
+
+        BufferedImage image = decode(key);
+        if (image != null && WRITING.add(key)) {
+            CompletableFuture.runAsync(() -> writeCache(cache, Map.of(key, image), Map.of(key, stamp)))
+                    .whenComplete((r, ex) -> WRITING.remove(key));
+        }
+        return image;
+    }
+
+    private static void writeCache(AssetCache cache) {
+        writeCache(cache, published, STAMPS);
+    }
+
+    private static void writeCache(AssetCache cache, Map<String, BufferedImage> images, Map<String, long[]> stamps) {
+        try {
+            cache.write(images, stamps);
+        } catch (IOException ex) {
+            // เขียนแคชไม่ได้ (เช่นโฟลเดอร์อ่านอย่างเดียว) เกมยังทำงานได้ แค่เปิดครั้งหน้าจะช้ากว่า
+            System.err.println("⚠ Cannot write asset cache: " + ex);
+        }
+    }
+
+    private static BufferedImage decode(String key) {
+        try {
+            BufferedImage image = ImageIO.read(new File(key));
+            if (image != null) {
+                BufferedImage existing = DECODED.putIfAbsent(key, image);
+                return existing != null ? existing : image;
+            }
+        } catch (IOException ex) {
+            // ไฟล์เสีย/อ่านไม่ได้ ให้ผู้เรียกใช้ภาพสำรองแทน
+        }
+        FAILED.add(key);
+        return null;
+    }
+
+    // ทำให้ path รูปแบบเดียวกันเสมอ (ใช้ / และตัด ./ ออก)
+    static String normalize(String path) {
+        return Path.of(path).normalize().toString().replace('\\', '/');
+    }
+}
@@ -0,0 +1,114 @@
+package system;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AssetManager — จุดเดียวที่ทุกส่วนของเกมใช้ขอภาพ (เมนู ประตู ผู้เล่น มอน พัซเซิล พื้นหลัง)
+ * ภาพแต่ละ path ถูกถอดรหัสครั้งเดียวผ่าน AssetLoader แล้วแจก AssetHandle ที่ใช้ภาพร่วมกัน
+ * นับจำนวนผู้ถือ handle ไว้ เมื่อคืนครบทุกอันจะปล่อยภาพออกจากหน่วยความจำ
+ * และรายงานขนาดพิกเซลที่ถอดรหัสแล้วของแต่ละภาพ เทียบกับงบหน่วยความจำใน Config
+ */
+public final class AssetManager {
+
+    // สถิติของภาพหนึ่งไฟล์ (ใช้แสดง/บันทึกการใช้หน่วยความจำ)
+    public record AssetStats(String path, int refCount, long bytes) {}
+
+    // ข้อมูลภาพที่ถูกขออยู่ (refCount เข้าถึงภายใต้ lock ของคลาสเท่านั้น)
+    static final class Entry {
+        final String path;
+        final BufferedImage image;
+        final long bytes;
+        int refCount;
+
+        Entry(String path, BufferedImage image) {
+            this.path = path;
+            this.image = image;
+            this.bytes = decodedBytes(image);
+        }
+    }
+
+    private static final Map<String, Entry> ENTRIES = new HashMap<>();
+    // เขียนภายใต้ lock ร่วมกับ ENTRIES แต่อ่านได้โดยไม่ต้องรอ lock (metrics scrape ไม่ควรไปแย่ง lock กับเกม)
+    private static final AtomicLong TOTAL_BYTES = new AtomicLong();
+    private static boolean budgetWarned; // เตือนเกินงบแค่ครั้งเดียว
+
+    private AssetManager() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    // ขอภาพตาม path (ถ้าโหลดไม่ได้ handle.image() จะเป็น null)
+    public static AssetHandle acquire(String path) {
+        String key = AssetLoader.normalize(path);
+        synchronized (AssetManager.class) {
+            Entry entry = ENTRIES.get(key);
+            if (entry != null) {
+                entry.refCount++;
+                return new AssetHandle(entry);
+            }
+        }
+
+        // ถอดรหัสนอก lock: ภาพใหญ่ (เช่นพัซเซิลบนเธรด prefetch) จะไม่ขวาง acquire/release ของเธรดอื่น
+        // ถ้าสองเธรดขอ path เดียวกันพร้อมกัน AssetLoader คืนภาพตัวเดียวกัน (putIfAbsent) และตัวที่มาทีหลังใช้ entry เดิม
+        BufferedImage image = AssetLoader.image(key);
+        synchronized (AssetManager.class) {
+            Entry entry = ENTRIES.get(key);
+            if (entry == null) {
+                entry = new Entry(key, image);
+                ENTRIES.put(key, entry);
+                TOTAL_BYTES.addAndGet(entry.bytes);
+                checkBudget();
+            }
+            entry.refCount++;
+            return new AssetHandle(entry);
+        }
+    }
+
+    // เรียกจาก AssetHandle.release() เท่านั้น
+    static synchronized void release(Entry entry) {
+        if (--entry.refCount > 0 || ENTRIES.get(entry.path) != entry) return;
+
+        // ไม่มีใครใช้แล้ว ปล่อยภาพให้ GC เก็บได้ (ขอใหม่จะอ่านจากแคชไฟล์หรือถอดรหัสอีกครั้ง)
+        ENTRIES.remove(entry.path);
+        TOTAL_BYTES.addAndGet(-entry.bytes);
+        AssetLoader.evict(entry.path);
+    }
+
+    // ขนาดพิกเซลรวมของภาพที่ถูกขออยู่ทั้งหมด (ไบต์)
+    public static long totalBytes() {
+        return TOTAL_BYTES.get();
+    }
+
+    // รายการภาพที่ถูกขออยู่ เรียงจากใหญ่ไปเล็ก
+    public static synchronized List<AssetStats> report() {
+        List<AssetStats> stats = new ArrayList<>(ENTRIES.size());
+        for (Entry entry : ENTRIES.values()) {
+            stats.add(new AssetStats(entry.path, entry.refCount, entry.bytes));
+        }
+        stats.sort((a, b) -> Long.compare(b.bytes(), a.bytes()));
+        return stats;
+    }
+
+    public static boolean isOverBudget() {
+        return totalBytes() > Config.IMAGE_MEMORY_BUDGET_BYTES;
+    }
+
+    // ขนาดของ raster ที่ถอดรหัสแล้ว (ไม่รวม header ของอ็อบเจกต์)
+    public static long decodedBytes(BufferedImage image) {
+        if (image == null) return 0;
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        long elementBytes = DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+        return (long) buffer.getSize() * buffer.getNumBanks() * elementBytes;
+    }
+
+    private static void checkBudget() {
+        long bytes = TOTAL_BYTES.get();
+        if (budgetWarned || bytes <= Config.IMAGE_MEMORY_BUDGET_BYTES) return;
+        budgetWarned = true;
+        System.err.printf("⚠ Decoded images use %d MB (budget %d MB)%n",
+                bytes >> 20, Config.IMAGE_MEMORY_BUDGET_BYTES >> 20);
+    }
+}
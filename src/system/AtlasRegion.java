@@ -0,0 +1,13 @@
+package system;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+// AtlasRegion — ตำแหน่งของเฟรมหนึ่งภายในหน้า texture atlas (page + สี่เหลี่ยมต้นทาง)
+public record AtlasRegion(BufferedImage page, int x, int y, int width, int height) {
+
+    // วาดเฟรมนี้ที่ตำแหน่ง (dx, dy) ขนาดเท่าจริง — เป็นการ blit จากหน้า atlas ตรง ๆ
+    public void draw(Graphics2D g, int dx, int dy) {
+        g.drawImage(page, dx, dy, dx + width, dy + height, x, y, x + width, y + height, null);
+    }
+}
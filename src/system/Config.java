@@ -29,6 +29,7 @@ public final class Config {
     public static final int MONSTER_SIZE = 32;                // ขนาดของมอนสเตอร์
     public static final int FRAME_DELAY_MONSTER = 3;          // ความหน่วงระหว่างแต่ละเฟรมอนิเมชันมอน
     public static final int MONSTER_INITIAL_DELAY_MS = 500;   // ดีเลย์ก่อนเริ่มโจมตีครั้งแรกเมื่อเริ่มด่าน
+    public static final int MONSTER_INITIAL_DELAY_JITTER_MS = 250; // สุ่มเพิ่มดีเลย์แรก 0–ค่านี้ ให้มอนแต่ละตัวไม่โจมตีพร้อมกัน
 
 
     // การตั้งค่าด่าน / ระบบประตู
@@ -59,6 +60,8 @@ public final class Config {
     public static final int PROJECTILE_FRAME_DELAY = 5;      // ดีเลย์ระหว่างการเปลี่ยนเฟรมของ sprite กระสุน
     public static final int PROJECTILE_DRAW_SIZE = 12;       // ขนาดจริงของกระสุนบนจอ (pixel)
     public static final int SHOOT_COOLDOWN_TICKS = 90;       // เวลาพักก่อนมอนยิงกระสุนใหม่ (เฟรม)
+    public static final double SHOOT_AIM_JITTER_DEGREES = 4.0; // มุมเล็งคลาดเคลื่อนแบบสุ่มไม่เกิน ± ค่านี้
+    public static final int PROJECTILE_INITIAL_CAPACITY = 64; // ช่องกระสุนที่จองไว้ตอนสร้างโลก (ขยายสองเท่าเมื่อเต็ม)
 
     // 🎨 สีและธีมหลักของเกม
     public static final Color BACKGROUND_COLOR = Color.BLACK;            // พื้นหลัง
@@ -69,7 +72,17 @@ public final class Config {
     // ระบบพัซเซิล (Puzzle)
     public static final List<Integer> PUZZLE_POOL = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9);
     public static final int PUZZLE_SHOW_ALPHA = 200;  // ความโปร่งแสงของภาพพัซเซิล (0-255)
+    public static final long PUZZLE_CACHE_BYTES = 32L << 20; // งบแคชภาพพัซเซิล (พอสำหรับ 4 ภาพของหนึ่งด่าน)
+
+    // หน่วยความจำของภาพ
+    public static final long IMAGE_MEMORY_BUDGET_BYTES = 128L << 20; // งบพิกเซลที่ถอดรหัสแล้วรวมทุกภาพ (128 MB)
 
     // ระบบเกมโดยรวม
     public static final int TIMER_DELAY_MS = 16; // ความถี่ในการอัปเดตเกม (ประมาณ 60 FPS)
+    public static final int TICK_RATE = 60;          // จำนวน tick ของการจำลองต่อวินาที (fixed timestep)
+    public static final int MAX_TICKS_PER_FRAME = 5; // tick สูงสุดที่ไล่ตามได้ในหนึ่งเฟรม
+    public static final int SPATIAL_CELL_SIZE = 64;  // ขนาดช่องของ SpatialGrid (ใหญ่กว่ามอน/ประตูเล็กน้อย)
+    public static final int METRICS_PUBLISH_MS = 1000; // รอบที่เธรดเกมคัดลอกค่าให้ metrics endpoint
+    public static final int REPLAY_CHECKPOINT_TICKS = 60; // ทุกกี่ tick ที่ไฟล์บันทึกอินพุตเก็บ state hash ไว้ตรวจ
+    public static final int RENDER_RATE = 144;       // อัตราเฟรมเป้าหมายของโหมด active rendering
 }
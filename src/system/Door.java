@@ -3,9 +3,6 @@ package system;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 // จัดการข้อมูลและการแสดงผลของประตูในเกม
 public class Door {
@@ -16,6 +13,9 @@ public class Door {
     private static final int FRAMES = 8;           // จำนวนเฟรมทั้งหมด
     private static final int FRAME_DELAY = 6;      // หน่วงเวลาเปลี่ยนเฟรม
     private static final BufferedImage[] SPRITES = loadSprites(); // โหลดภาพประตูทั้งหมด
+    static {
+        SpriteCache.frames(SPRITES, Config.DOOR_SIZE, Config.DOOR_SIZE, false); // เตรียมเฟรมขนาดจริงไว้ล่วงหน้า
+    }
 
     private final Type type;
     private final double xRatio; // ตำแหน่งแนวนอน (เก็บเป็นอัตราส่วน เพื่อปรับตามขนาดจอ)
@@ -24,6 +24,7 @@ public class Door {
 
     private int tick;
     private int frame;
+    private AtlasRegion[] drawFrames; // เฟรมขนาด size จาก SpriteCache (ขอครั้งแรกที่วาด ไม่ต้อง lock ทุกเฟรม)
     private Integer puzzleNumber; // หมายเลข puzzle ของประตู (ถ้ามี)
 
     public Door(Type type, int x, int y, int panelWidth, int panelHeight, int size) {
@@ -63,8 +64,9 @@ public class Door {
         int drawY = getY(height);
 
         if (SPRITES.length > 0) {
-            // มี sprite — ใช้ภาพตามเฟรมปัจจุบัน
-            g.drawImage(SPRITES[frame], drawX, drawY, size, size, null);
+            // มี sprite — ใช้ภาพตามเฟรมปัจจุบัน (ย่อเป็นขนาดประตูไว้แล้ว)
+            if (drawFrames == null) drawFrames = SpriteCache.frames(SPRITES, size, size, false);
+            drawFrames[frame].draw(g, drawX, drawY);
         } else {
             // กรณีไม่มีภาพ — วาดสี่เหลี่ยมแทนโดยใช้สีตามประเภทประตู
             g.setColor(switch (type) {
@@ -90,18 +92,16 @@ public class Door {
 
     // โหลดภาพ sprite ของประตูจากไฟล์เดียว (door.png)
     private static BufferedImage[] loadSprites() {
-        try {
-            BufferedImage sheet = ImageIO.read(new File("Pic/door.png"));
-            int count = Math.min(FRAMES, sheet.getWidth() / FRAME_SIZE);
-            BufferedImage[] frames = new BufferedImage[count];
-
-            // แบ่งภาพออกเป็นเฟรมย่อยตามจำนวนที่กำหนด
-            for (int i = 0; i < count; i++) {
-                frames[i] = sheet.getSubimage(i * FRAME_SIZE, 0, FRAME_SIZE, FRAME_SIZE);
-            }
-            return frames;
-        } catch (IOException ex) {
-            return new BufferedImage[0]; // กรณีโหลดภาพไม่ได้ ให้คืนอาร์เรย์ว่าง
+        BufferedImage sheet = AssetManager.acquire("Pic/door.png").image(); // ใช้ตลอดเกม ไม่คืน handle
+        if (sheet == null) return new BufferedImage[0]; // กรณีโหลดภาพไม่ได้ ให้คืนอาร์เรย์ว่าง
+
+        int count = Math.min(FRAMES, sheet.getWidth() / FRAME_SIZE);
+        BufferedImage[] frames = new BufferedImage[count];
+
+        // แบ่งภาพออกเป็นเฟรมย่อยตามจำนวนที่กำหนด
+        for (int i = 0; i < count; i++) {
+            frames[i] = sheet.getSubimage(i * FRAME_SIZE, 0, FRAME_SIZE, FRAME_SIZE);
         }
+        return frames;
     }
 }
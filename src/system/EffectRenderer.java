@@ -6,8 +6,6 @@ import java.awt.Composite;
 import java.awt.GradientPaint;
 import java.awt.Graphics2D;
 import java.awt.Paint;
-import java.awt.RadialGradientPaint;
-import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
 
 // รวมระบบวาดเอฟเฟกต์ทั้งหมดไว้ที่เดียว ป้องกันโค้ดซ้ำในการวาดภาพและการผสมสี
@@ -25,7 +23,11 @@ public final class EffectRenderer {
 
     // วาดแสงแบบรัศมี (ใช้ในระบบ Lighting)
     public static void drawLight(Graphics2D g, int x, int y, int radius, float alpha) {
-        Paint old = g.getPaint();
+        drawLight(g, x, y, radius, alpha, LightStampCache.Falloff.LINEAR);
+    }
+
+    // วาดแสงด้วย stamp ที่วาดไว้ล่วงหน้า แทนการสร้าง RadialGradientPaint ทุกเฟรม
+    public static void drawLight(Graphics2D g, int x, int y, int radius, float alpha, LightStampCache.Falloff falloff) {
         Composite oldComposite = g.getComposite();
 
         // ใช้ DST_OUT เพื่อเจาะเงาออกให้เห็นแสง
@@ -33,21 +35,7 @@ public final class EffectRenderer {
                 AlphaComposite.DST_OUT,
                 Utils.clamp(alpha, 0f, 1f)
         ));
-
-        // สร้างแสงจางจากจุดศูนย์กลางออกไปขอบ
-        RadialGradientPaint paint = new RadialGradientPaint(
-                new Point2D.Float(x, y),
-                radius,
-                new float[]{0f, 1f},
-                new Color[]{
-                        new Color(1f, 1f, 1f, 1f),
-                        new Color(1f, 1f, 1f, 0f)
-                }
-        );
-
-        g.setPaint(paint);
-        g.fillOval(x - radius, y - radius, radius * 2, radius * 2);
-        g.setPaint(old);
+        g.drawImage(LightStampCache.get(radius, falloff), x - radius, y - radius, null);
         g.setComposite(oldComposite);
     }
 
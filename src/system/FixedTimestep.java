@@ -0,0 +1,50 @@
+package system;
+
+/**
+ * FixedTimestep — ตัวสะสมเวลาสำหรับจำลองโลกด้วยอัตรา tick คงที่
+ * ในแต่ละเฟรมจะบอกว่าต้องรัน tick กี่ครั้ง (0 ครั้งขึ้นไป)
+ * และค่า alpha (0–1) สำหรับวาดตำแหน่งแบบ interpolate ระหว่างสอง tick ล่าสุด
+ */
+public class FixedTimestep {
+
+    private final long stepNanos;   // ระยะเวลาของหนึ่ง tick (นาโนวินาที)
+    private final int maxSteps;     // จำนวน tick สูงสุดต่อเฟรม กันเกมค้างไล่ตามไม่ทัน
+
+    private long lastTime = -1;
+    private long accumulator;
+
+    public FixedTimestep(int ticksPerSecond, int maxSteps) {
+        this.stepNanos = 1_000_000_000L / Math.max(1, ticksPerSecond);
+        this.maxSteps = Math.max(1, maxSteps);
+    }
+
+    // เพิ่มเวลาที่ผ่านไปจนถึง now แล้วคืนจำนวน tick ที่ต้องรันในเฟรมนี้
+    public int advance(long now) {
+        if (lastTime < 0) lastTime = now;
+        accumulator += Math.max(0, now - lastTime);
+        lastTime = now;
+
+        // ถ้าค้างนานเกินไป (เช่นเปิดกล่องรหัสผ่าน) ให้ทิ้งเวลาส่วนเกิน ไม่เร่งเกมไล่ตาม
+        long maxBacklog = stepNanos * maxSteps;
+        if (accumulator > maxBacklog) accumulator = maxBacklog;
+
+        int steps = (int) (accumulator / stepNanos);
+        accumulator -= steps * stepNanos;
+        return steps;
+    }
+
+    // สัดส่วนเวลาที่เหลือของ tick ถัดไป (ใช้ interpolate ตอนวาด)
+    public float alpha() {
+        return accumulator / (float) stepNanos;
+    }
+
+    // เริ่มนับเวลาใหม่ (เช่นหลังหยุดเกม)
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+
+    public long getStepNanos() {
+        return stepNanos;
+    }
+}
@@ -0,0 +1,256 @@
+package system;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * FrameProfiler — จับเวลาแต่ละช่วงของเฟรมด้วย System.nanoTime
+ * และนับไบต์ที่เธรดจองระหว่างช่วงนั้นด้วย ThreadMXBean.getCurrentThreadAllocatedBytes
+ * เก็บตัวอย่างล่าสุดแบบวนรอบ (ring buffer) ต่อช่วง ไว้คำนวณ p50/p95/p99/max ของช่วงเวลาล่าสุด
+ * และฮิสโตแกรมสะสมทั้งเกมแบบช่องละสองเท่า (1µs, 2µs, 4µs, ...) สำหรับเขียนเป็น CSV
+ * อาร์เรย์ทั้งหมดจองไว้ตั้งแต่สร้าง การบันทึกแต่ละครั้งจึงไม่สร้างอ็อบเจกต์ใหม่
+ * ใช้จากเธรดเดียว (เธรดที่รัน tick และวาดภาพ)
+ */
+public class FrameProfiler {
+
+    // ช่วงที่วัด (label ใช้เป็นชื่อใน overlay และ CSV)
+    public enum Phase {
+        FRAME("frame"),                    // เวลาระหว่างการวาดสองเฟรมติดกัน (รวมทุกอย่างในเฟรม)
+        TICK("tick"),                      // GameWorld.tick ทั้งหมด
+        PROJECTILES("ProjectileSystem.update"),
+        MONSTERS("Monster.updateAll"),
+        COLLISIONS("handleCollisions"),
+        RENDER("render"),                  // การวาดทั้งเฟรม
+        SPRITES("renderBaseSprites"),
+        LIGHTING("renderLighting"),
+        OVERLAYS("renderOverlays");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public static final int DEFAULT_WINDOW = 600; // ประมาณ 10 วินาทีที่ 60 FPS
+    private static final int BUCKETS = 24;        // ช่องสุดท้ายรวมทุกค่าที่ >= 2^22 µs (~4 วินาที)
+
+    // อินสแตนซ์ที่ไม่บันทึกอะไรเลย (ค่าเริ่มต้นเมื่อไม่มีใครต่อ profiler)
+    public static final FrameProfiler DISABLED = new FrameProfiler(1, false);
+
+    // ตัวนับไบต์ที่จองต่อเธรด (null ถ้า JVM ไม่รองรับ จะรายงานเป็น 0)
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final boolean enabled;
+    private final int window;
+    private final long[][] samples;   // ตัวอย่างล่าสุดของแต่ละช่วง (นาโนวินาที)
+    private final int[] heads;        // ตำแหน่งที่จะเขียนครั้งถัดไป
+    private final int[] sizes;        // จำนวนตัวอย่างที่มีใน ring (ไม่เกิน window)
+    private final long[] counts;      // จำนวนครั้งทั้งหมดตั้งแต่เริ่มเกม
+    private final long[] totals;      // ผลรวมเวลาทั้งหมด
+    private final long[] maxima;      // ค่าสูงสุดตั้งแต่เริ่มเกม
+    private final long[][] histogram; // ฮิสโตแกรมสะสมแบบ log2 ของไมโครวินาที
+    private final long[] scratch;     // ที่เรียงค่าเพื่อหา percentile
+
+    private final long[][] bytes;     // ไบต์ที่จองในแต่ละตัวอย่างล่าสุด (ขนานกับ samples)
+    private final long[] totalBytes;  // ไบต์ที่จองรวมตั้งแต่เริ่มเกม
+    private final long[] startNanos;  // เวลาเริ่มของช่วงที่กำลังวัดอยู่
+    private final long[] startBytes;  // ไบต์ที่จองแล้ว ณ ตอนเริ่มช่วง
+
+    public FrameProfiler() {
+        this(DEFAULT_WINDOW, true);
+    }
+
+    public FrameProfiler(int window, boolean enabled) {
+        int phases = Phase.values().length;
+        this.enabled = enabled;
+        this.window = Math.max(1, window);
+        this.samples = new long[phases][this.window];
+        this.heads = new int[phases];
+        this.sizes = new int[phases];
+        this.counts = new long[phases];
+        this.totals = new long[phases];
+        this.maxima = new long[phases];
+        this.histogram = new long[phases][BUCKETS];
+        this.scratch = new long[this.window];
+        this.bytes = new long[phases][this.window];
+        this.totalBytes = new long[phases];
+        this.startNanos = new long[phases];
+        this.startBytes = new long[phases];
+    }
+
+    // เริ่มวัดช่วง (ช่วงซ้อนกันได้ เช่น RENDER ครอบ SPRITES เพราะแต่ละช่วงมีช่องของตัวเอง)
+    public void begin(Phase phase) {
+        if (!enabled) return;
+        int p = phase.ordinal();
+        startBytes[p] = allocatedBytes();
+        startNanos[p] = System.nanoTime();
+    }
+
+    // จบช่วงที่เริ่มด้วย begin แล้วบันทึกเวลาและไบต์ที่จอง
+    public void end(Phase phase) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        int p = phase.ordinal();
+        record(p, now - startNanos[p], allocatedBytes() - startBytes[p]);
+    }
+
+    // เรียกต้นทุกเฟรม: บันทึกช่วง FRAME ตั้งแต่เฟรมก่อนหน้า แล้วเริ่มนับเฟรมใหม่
+    public void markFrame() {
+        if (!enabled) return;
+        int p = Phase.FRAME.ordinal();
+        long now = System.nanoTime();
+        long allocated = allocatedBytes();
+        if (startNanos[p] != 0) record(p, now - startNanos[p], allocated - startBytes[p]);
+        startNanos[p] = now;
+        startBytes[p] = allocated;
+    }
+
+    private void record(int p, long nanos, long allocated) {
+        samples[p][heads[p]] = nanos;
+        bytes[p][heads[p]] = allocated;
+        heads[p] = (heads[p] + 1) % window;
+        if (sizes[p] < window) sizes[p]++;
+
+        counts[p]++;
+        totals[p] += nanos;
+        totalBytes[p] += allocated;
+        if (nanos > maxima[p]) maxima[p] = nanos;
+        histogram[p][bucket(nanos / 1_000)]++;
+    }
+
+    // ไบต์ที่จองเฉลี่ยต่อครั้งของตัวอย่างล่าสุด
+    public long averageBytes(Phase phase) {
+        int p = phase.ordinal();
+        int n = sizes[p];
+        if (n == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < n; i++) sum += bytes[p][i];
+        return sum / n;
+    }
+
+    // ไบต์ที่จองรวมตั้งแต่เริ่มเกม
+    public long totalBytes(Phase phase) {
+        return totalBytes[phase.ordinal()];
+    }
+
+    public long count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public static boolean isAllocationTrackingSupported() {
+        return THREADS != null;
+    }
+
+    // เติม out = {p50, p95, p99, max} ของตัวอย่างล่าสุด (นาโนวินาที) คืนจำนวนตัวอย่าง
+    public int percentiles(Phase phase, long[] out) {
+        int p = phase.ordinal();
+        int n = sizes[p];
+        if (n == 0) {
+            Arrays.fill(out, 0, 4, 0L);
+            return 0;
+        }
+        System.arraycopy(samples[p], 0, scratch, 0, n);
+        Arrays.sort(scratch, 0, n);
+        out[0] = scratch[rank(0.50, n)];
+        out[1] = scratch[rank(0.95, n)];
+        out[2] = scratch[rank(0.99, n)];
+        out[3] = scratch[n - 1];
+        return n;
+    }
+
+    // คัดลอกตัวอย่างล่าสุดเรียงจากเก่าไปใหม่ลง dst (ใช้วาดกราฟ) คืนจำนวนที่คัดลอก
+    public int recent(Phase phase, long[] dst) {
+        int p = phase.ordinal();
+        int n = Math.min(sizes[p], dst.length);
+        int start = (heads[p] - n + window) % window;
+        for (int i = 0; i < n; i++) {
+            dst[i] = samples[p][(start + i) % window];
+        }
+        return n;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // เขียนสรุปทุกช่วงเป็น CSV: percentile ของช่วงล่าสุด ค่าสะสม และจำนวนในแต่ละช่องของฮิสโตแกรม
+    public void writeCsv(Path file) throws IOException {
+        long[] stats = new long[4];
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            StringBuilder header = new StringBuilder(
+                    "phase,count,mean_us,max_us,window,p50_us,p95_us,p99_us,window_max_us,bytes_per_call,total_bytes");
+            for (int b = 0; b < BUCKETS; b++) {
+                header.append(b == BUCKETS - 1 ? ",ge_" : ",lt_").append(bucketLimit(b)).append("us");
+            }
+            out.println(header);
+
+            for (Phase phase : Phase.values()) {
+                int p = phase.ordinal();
+                int n = percentiles(phase, stats);
+                double mean = counts[p] == 0 ? 0 : totals[p] / (double) counts[p] / 1_000.0;
+                out.printf(Locale.ROOT, "%s,%d,%.1f,%.1f,%d,%.1f,%.1f,%.1f,%.1f,%d,%d", phase.label(), counts[p],
+                        mean, maxima[p] / 1_000.0, n, stats[0] / 1_000.0, stats[1] / 1_000.0, stats[2] / 1_000.0,
+                        stats[3] / 1_000.0, averageBytes(phase), totalBytes[p]);
+                for (int b = 0; b < BUCKETS; b++) {
+                    out.print(',');
+                    out.print(histogram[p][b]);
+                }
+                out.println();
+            }
+        }
+    }
+
+    // เขียน CSV ตอนปิดโปรแกรม
+    public void writeCsvOnExit(Path file) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                writeCsv(file);
+            } catch (IOException ex) {
+                System.err.println("⚠ Cannot write profiler CSV: " + ex.getMessage());
+            }
+        }, "profiler-dump"));
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+    // ช่อง b เก็บค่า [2^(b-1), 2^b) ไมโครวินาที (ช่อง 0 = น้อยกว่า 1µs)
+    private static int bucket(long micros) {
+        int b = 64 - Long.numberOfLeadingZeros(Math.max(0, micros));
+        return Math.min(b, BUCKETS - 1);
+    }
+
+    private static long bucketLimit(int b) {
+        return b == BUCKETS - 1 ? 1L << (b - 1) : 1L << b;
+    }
+
+    // nearest-rank percentile
+    private static int rank(double q, int n) {
+        return Math.max(0, Math.min(n - 1, (int) Math.ceil(q * n) - 1));
+    }
+}
@@ -0,0 +1,19 @@
+package system;
+
+/**
+ * GameClock — นาฬิกาของการจำลอง (monotonic) ที่ใช้แทน System.currentTimeMillis
+ * เวลาเดินตาม tick ของเกม จึงหยุดเมื่อเกมหยุด และเร่งได้เมื่อรันเร็วกว่าเวลาจริง
+ */
+public interface GameClock {
+
+    // จำนวน tick ที่จำลองไปแล้วทั้งหมด
+    long ticks();
+
+    // เวลาจำลองที่ผ่านไปแล้ว (นาโนวินาที)
+    long nanos();
+
+    // เวลาจำลองที่ผ่านไปแล้ว (มิลลิวินาที) ใช้กับค่าคูลดาวน์ใน Config
+    default long millis() {
+        return nanos() / 1_000_000L;
+    }
+}
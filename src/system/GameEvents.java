@@ -0,0 +1,122 @@
+package system;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * GameEvents — event ของ Java Flight Recorder สำหรับลูปเกม การวาด การเปลี่ยนด่าน การโหลดภาพ และการโจมตีของมอน
+ * ถ้าไม่ได้เปิดบันทึก JFR event จะไม่ถูกเขียนและแทบไม่มีต้นทุน
+ * บันทึกด้วยโปรไฟล์ของเกม: java -XX:StartFlightRecording=settings=jfr/game.jfc,filename=game.jfr -cp bin main.App
+ */
+public final class GameEvents {
+
+    private GameEvents() {} // รวม event ไว้ที่เดียว ไม่ให้สร้างอ็อบเจกต์
+
+    @Name("sixdoor.GameLoop")
+    @Label("Game Loop")
+    @Category({"Six Door Maze", "Loop"})
+    @Description("One pass of the game loop: fixed-timestep ticks run for this frame")
+    @StackTrace(false)
+    public static class GameLoop extends Event {
+        @Label("Ticks")
+        public int ticks;
+
+        @Label("Level Index")
+        public int levelIndex;
+    }
+
+    @Name("sixdoor.Render")
+    @Label("Render")
+    @Category({"Six Door Maze", "Rendering"})
+    @Description("Drawing one frame of the game (or the loading menu)")
+    @StackTrace(false)
+    public static class Render extends Event {
+        @Label("Level Index")
+        public int levelIndex;
+
+        @Label("Light Count")
+        public int lightCount;
+
+        @Label("Monster Count")
+        public int monsterCount;
+
+        @Label("Menu Shown")
+        public boolean menu;
+    }
+
+    @Name("sixdoor.LevelReset")
+    @Label("Level Reset")
+    @Category({"Six Door Maze", "World"})
+    @Description("GameWorld.resetLevel: new doors, player respawn and monster preparation")
+    public static class LevelReset extends Event {
+        @Label("Level Index")
+        public int levelIndex;
+
+        @Label("Pregenerated")
+        @Description("Level was taken from the background pre-generator instead of built on the game thread")
+        public boolean pregenerated;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+    }
+
+    @Name("sixdoor.LevelGenerate")
+    @Label("Level Generate")
+    @Category({"Six Door Maze", "World"})
+    @Description("Level.reset: password selection and door placement")
+    @StackTrace(false)
+    public static class LevelGenerate extends Event {
+        @Label("Door Count")
+        public int doorCount;
+
+        @Label("Placement Attempts")
+        @Description("Candidate positions tried by the Poisson-disk sampler")
+        public int placementAttempts;
+
+        @Label("Door Spacing")
+        @Description("Minimum distance between doors that was achieved (pixels)")
+        public int doorSpacing;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+    }
+
+    @Name("sixdoor.AnimationLoad")
+    @Label("Animation Load")
+    @Category({"Six Door Maze", "Assets"})
+    @Description("MonsterAnimator slicing a sprite sheet into frames")
+    public static class AnimationLoad extends Event {
+        @Label("Animation")
+        public String name;
+
+        @Label("Path")
+        public String path;
+
+        @Label("Frames")
+        public int frames;
+    }
+
+    @Name("sixdoor.MonsterAttack")
+    @Label("Monster Attack")
+    @Category({"Six Door Maze", "Monsters"})
+    @Description("One AttackBehavior.attack call for a monster")
+    @StackTrace(false)
+    public static class MonsterAttack extends Event {
+        @Label("Monster Type")
+        public String monsterType;
+
+        @Label("Live Projectiles")
+        @Description("Projectiles in flight across the whole world after the attack")
+        public int projectileCount;
+    }
+}
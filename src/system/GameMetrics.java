@@ -0,0 +1,181 @@
+package system;
+
+import entity.Monster;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import system.FrameProfiler.Phase;
+
+/**
+ * GameMetrics — ตัวเลขสุขภาพของเกมสำหรับให้ MetricsServer ส่งออกในรูปแบบข้อความของ Prometheus
+ * ตัวนับ (tick, การตาย, การรีเซ็ตด่าน) ใช้ LongAdder ส่วนค่า gauge ที่ต้องอ่านจาก profiler หรือโลกของเกม
+ * เธรดเกมจะคัดลอกลง AtomicLongArray เป็นระยะ (publish) เธรดที่ scrape จึงอ่านได้โดยไม่ต้องล็อก
+ * และไม่แตะอ็อบเจกต์ของเธรดเกมโดยตรง ลูปเกมจึงไม่ต้องรอ scrape เลย
+ */
+public class GameMetrics {
+
+    // ตำแหน่งของ gauge ใน snapshot
+    private static final int LEVEL_INDEX = 0;
+    private static final int MONSTERS_ACTIVE = 1;
+    private static final int MONSTERS_TOTAL = 2;
+    private static final int PROJECTILES = 3;
+    private static final int TICK_RATE_MILLI = 4; // tick ต่อวินาที x1000
+    private static final int FRAME_QUANTILES = 5; // p50, p95, p99, max ของ FRAME (นาโนวินาที)
+    private static final int TICK_QUANTILES = 9;  // p50, p95, p99, max ของ TICK
+    private static final int FRAME_COUNT = 13;
+    private static final int TICK_COUNT = 14;
+    private static final int PROJECTILE_HIGH_WATER = 15;
+    private static final int PROJECTILE_GROWS = 16;
+    private static final int LEVEL_PREGEN_HITS = 17;
+    private static final int LEVEL_PREGEN_MISSES = 18;
+    private static final int SNAPSHOT_SIZE = 19;
+
+    private static final String[] QUANTILES = {"0.5", "0.95", "0.99", "1"};
+
+    // อินสแตนซ์ที่ไม่นับอะไรเลย (ค่าเริ่มต้นเมื่อไม่ได้เปิด endpoint)
+    public static final GameMetrics DISABLED = new GameMetrics(false);
+
+    private final boolean enabled;
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder deaths = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final AtomicLongArray snapshot = new AtomicLongArray(SNAPSHOT_SIZE);
+
+    // ใช้เฉพาะบนเธรดเกมระหว่าง publish
+    private final long[] stats = new long[4];
+    private final long publishIntervalNanos = Config.METRICS_PUBLISH_MS * 1_000_000L;
+    private long lastPublish;
+    private long lastTicks;
+
+    public GameMetrics() {
+        this(true);
+    }
+
+    private GameMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void recordTick() {
+        if (enabled) ticks.increment();
+    }
+
+    public void recordDeath() {
+        if (enabled) deaths.increment();
+    }
+
+    public void recordReset(int levelIndex) {
+        if (!enabled) return;
+        resets.increment();
+        snapshot.set(LEVEL_INDEX, levelIndex);
+    }
+
+    // เรียกทุกเฟรมบนเธรดเกม คัดลอกค่าจาก profiler และโลกของเกมตามรอบ Config.METRICS_PUBLISH_MS
+    public void publish(FrameProfiler profiler, GameWorld world) {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        if (lastPublish != 0 && now - lastPublish < publishIntervalNanos) return;
+
+        long tickCount = ticks.sum();
+        if (lastPublish != 0) {
+            snapshot.set(TICK_RATE_MILLI, (tickCount - lastTicks) * 1_000_000_000_000L / (now - lastPublish));
+        }
+        lastPublish = now;
+        lastTicks = tickCount;
+
+        copyQuantiles(profiler, Phase.FRAME, FRAME_QUANTILES);
+        copyQuantiles(profiler, Phase.TICK, TICK_QUANTILES);
+        snapshot.set(FRAME_COUNT, profiler.count(Phase.FRAME));
+        snapshot.set(TICK_COUNT, profiler.count(Phase.TICK));
+
+        int active = 0;
+        for (Monster monster : world.getMonsters()) {
+            if (monster.isActive()) active++;
+        }
+        snapshot.set(LEVEL_INDEX, world.getLevelIndex());
+        snapshot.set(MONSTERS_ACTIVE, active);
+        snapshot.set(MONSTERS_TOTAL, world.getMonsters().size());
+        snapshot.set(PROJECTILES, world.getProjectiles().size());
+        snapshot.set(PROJECTILE_HIGH_WATER, world.getProjectiles().highWater());
+        snapshot.set(PROJECTILE_GROWS, world.getProjectiles().grows());
+        snapshot.set(LEVEL_PREGEN_HITS, world.getPregenerator().hits());
+        snapshot.set(LEVEL_PREGEN_MISSES, world.getPregenerator().misses());
+    }
+
+    private void copyQuantiles(FrameProfiler profiler, Phase phase, int offset) {
+        profiler.percentiles(phase, stats);
+        for (int i = 0; i < stats.length; i++) snapshot.set(offset + i, stats[i]);
+    }
+
+    // เขียนทุกค่าเป็นข้อความรูปแบบ Prometheus (เรียกจากเธรดของ HTTP server)
+    public void writePrometheus(StringBuilder out) {
+        counter(out, "sixdoor_ticks_total", "Simulation ticks run", ticks.sum());
+        counter(out, "sixdoor_deaths_total", "Player deaths", deaths.sum());
+        counter(out, "sixdoor_level_resets_total", "Level resets (start, death, door change, resize)", resets.sum());
+
+        gauge(out, "sixdoor_tick_rate", "Simulation ticks per second over the last publish interval",
+                snapshot.get(TICK_RATE_MILLI) / 1000.0);
+        gauge(out, "sixdoor_level_index", "Current level index", snapshot.get(LEVEL_INDEX));
+        gauge(out, "sixdoor_monsters_active", "Monsters active on the current level", snapshot.get(MONSTERS_ACTIVE));
+        gauge(out, "sixdoor_monsters", "Monsters in the world", snapshot.get(MONSTERS_TOTAL));
+        gauge(out, "sixdoor_projectiles_active", "Projectiles in flight", snapshot.get(PROJECTILES));
+        gauge(out, "sixdoor_projectiles_high_water", "Most projectiles in flight at once", snapshot.get(PROJECTILE_HIGH_WATER));
+        counter(out, "sixdoor_projectile_pool_grows_total", "Times the projectile arrays had to grow",
+                snapshot.get(PROJECTILE_GROWS));
+        counter(out, "sixdoor_level_pregen_hits_total", "Level resets served by a level built in the background",
+                snapshot.get(LEVEL_PREGEN_HITS));
+        counter(out, "sixdoor_level_pregen_misses_total", "Level resets that had to build the level on the game thread",
+                snapshot.get(LEVEL_PREGEN_MISSES));
+
+        summary(out, "sixdoor_frame_seconds", "Time between rendered frames (recent window)",
+                FRAME_QUANTILES, FRAME_COUNT);
+        summary(out, "sixdoor_tick_seconds", "GameWorld.tick duration (recent window)", TICK_QUANTILES, TICK_COUNT);
+
+        gauge(out, "sixdoor_asset_bytes", "Decoded image bytes held by AssetManager", AssetManager.totalBytes());
+        gauge(out, "sixdoor_asset_budget_bytes", "Decoded image memory budget", Config.IMAGE_MEMORY_BUDGET_BYTES);
+
+        GcMonitor gc = GcMonitor.getInstance();
+        counter(out, "sixdoor_gc_collections_total", "GC collections across all collectors", gc.getCollectionCount());
+        counter(out, "sixdoor_gc_seconds_total", "Time spent in GC", gc.getCollectionMillis() / 1000.0);
+        gauge(out, "sixdoor_gc_last_pause_seconds", "Duration of the last GC", gc.getLastPauseMillis() / 1000.0);
+        gauge(out, "sixdoor_gc_max_pause_seconds", "Longest GC since start", gc.getMaxPauseMillis() / 1000.0);
+        gauge(out, "sixdoor_heap_used_bytes", "Heap in use", gc.getHeapUsed());
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value) {
+        header(out, name, help, "counter");
+        sample(out, name, "", value);
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        header(out, name, help, "gauge");
+        sample(out, name, "", value);
+    }
+
+    // quantile ของ window ล่าสุด ส่วน _count นับรวมตั้งแต่เริ่มเกม
+    private void summary(StringBuilder out, String name, String help, int offset, int count) {
+        header(out, name, help, "summary");
+        for (int i = 0; i < QUANTILES.length; i++) {
+            sample(out, name, "{quantile=\"" + QUANTILES[i] + "\"}", snapshot.get(offset + i) / 1e9);
+        }
+        sample(out, name + "_count", "", snapshot.get(count));
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name).append(labels).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(String.format(Locale.ROOT, "%.6g", value));
+        }
+        out.append('\n');
+    }
+}
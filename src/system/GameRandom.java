@@ -0,0 +1,30 @@
+package system;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * GameRandom — ตัวช่วยของระบบสุ่มแบบกำหนด seed ได้
+ * โลกหนึ่งใบเริ่มจาก seed 64 บิตเดียว แล้วแตก (split) เป็นสายย่อยอิสระต่อด่านและต่อระบบ
+ *   seed ─┬─ ด่าน 0..n  → seed ของการเข้าด่านแต่ละครั้ง → Level.reset (รหัส ประเภทประตู ตำแหน่งประตู)
+ *         └─ มอนสเตอร์ → สายของการเข้าด่านแต่ละครั้ง → สายของมอนแต่ละตัว (จุดเกิด และให้ AttackBehavior ใช้)
+ * แต่ละสายไม่แชร์สถานะกัน จึงสร้างด่านบนเธรดอื่นพร้อมกันได้โดยไม่ต้อง lock และผลไม่ขึ้นกับลำดับของเธรด
+ */
+public final class GameRandom {
+
+    private GameRandom() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    // seed ใหม่สำหรับรอบที่ผู้เล่นไม่ได้กำหนด (พิมพ์/บันทึกไว้เพื่อเล่นซ้ำได้)
+    public static long newSeed() {
+        return new SplittableRandom().nextLong();
+    }
+
+    // สลับลำดับแบบ Fisher–Yates (Collections.shuffle ของ Java 17 รับได้แค่ java.util.Random)
+    public static <T> void shuffle(List<T> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            list.set(i, list.set(j, list.get(i)));
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package system;
+
+import entity.Monster;
+import entity.Player;
+import entity.ProjectileSystem;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import system.Level.DoorHit;
+
+/**
+ * GameWorld — แกนจำลองโลกของเกมที่ไม่ขึ้นกับ Swing
+ * รวมด่าน ผู้เล่น มอนสเตอร์ การชน และผลของประตูไว้ที่เดียว
+ * GamePanel มีหน้าที่แค่วาดภาพและส่งอินพุตเข้ามา จึงรันแบบ headless ได้
+ */
+public class GameWorld {
+
+    // สุ่มทั้งหมดของโลกมาจาก seed เดียว (ดู GameRandom): สายของแต่ละด่านและสายของมอนสเตอร์
+    private final long seed;
+    private final SplittableRandom[] levelStreams = new SplittableRandom[Config.TOTAL_LEVELS];
+    private final long[] levelSeeds = new long[Config.TOTAL_LEVELS]; // seed ของการเข้าด่านครั้งถัดไป
+    private final SplittableRandom monsterStream;
+
+    private final Player player = new Player();
+    private final List<Monster> monsters;
+    private final ProjectileSystem projectiles = new ProjectileSystem(); // กระสุนของมอนทุกตัวในโลกนี้
+    private final SpatialGrid monsterGrid = new SpatialGrid(Config.SPATIAL_CELL_SIZE); // id = index ใน monsters
+    private final List<Level> levels = new ArrayList<>();
+    // สร้างด่านถัดไป/ก่อนหน้าไว้ล่วงหน้าบนเธรดเบื้องหลัง เปลี่ยนด่านแล้วไม่ต้องรอสร้างบนเธรดเกม
+    private final LevelPregenerator pregenerator =
+            new LevelPregenerator(Config.TOTAL_LEVELS, index -> newLevel());
+    private final TickClock clock = new TickClock(Config.TICK_RATE); // เวลาของเกม เดินเฉพาะตอนจำลอง
+
+    private PasswordPrompt passwordPrompt;
+    private FrameProfiler profiler = FrameProfiler.DISABLED;
+    private GameMetrics metrics = GameMetrics.DISABLED;
+    private Consumer<Level> levelListener = level -> {}; // แจ้งเมื่อเริ่มด่านใหม่ (เช่นโหลดภาพ Puzzle ล่วงหน้า)
+    private int width;
+    private int height;
+
+    private int levelIndex;
+    private Integer pendingReset;
+    private DoorHit activeDoor;
+    private boolean prompting; // กำลังรอคำตอบจาก PasswordPrompt (โลกหยุดทั้งหมดจนกว่าจะตอบ)
+
+    public GameWorld(int width, int height, PasswordPrompt passwordPrompt) {
+        this(width, height, Monster.createDefaultMonsters(), passwordPrompt);
+    }
+
+    // สร้างโลกด้วยชุดมอนที่กำหนดเอง (เช่น stress test ที่มีมอนหลายพันตัว)
+    public GameWorld(int width, int height, List<Monster> monsters, PasswordPrompt passwordPrompt) {
+        this(width, height, monsters, passwordPrompt, GameRandom.newSeed());
+    }
+
+    // seed เดียวกัน + อินพุตเดียวกัน = ด่าน ประตู และจุดเกิดของมอนเหมือนเดิมทุกครั้ง
+    public GameWorld(int width, int height, List<Monster> monsters, PasswordPrompt passwordPrompt, long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < Config.TOTAL_LEVELS; i++) {
+            levelStreams[i] = root.split();
+            levelSeeds[i] = levelStreams[i].nextLong();
+        }
+        this.monsterStream = root.split();
+
+        this.monsters = monsters;
+        for (Monster monster : monsters) monster.setProjectiles(projectiles);
+        this.passwordPrompt = passwordPrompt != null ? passwordPrompt : PasswordPrompt.CANCEL;
+
+        // สร้างด่านทั้งหมดตามจำนวนที่กำหนดใน Config
+        for (int i = 0; i < Config.TOTAL_LEVELS; i++) {
+            levels.add(newLevel());
+        }
+        resize(width, height); // เริ่มจากเลเวลแรก
+    }
+
+    public GameWorld(int width, int height) {
+        this(width, height, PasswordPrompt.CANCEL);
+    }
+
+    // seed จริงของด่านมาจาก levelSeeds ตอน reset
+    private static Level newLevel() {
+        return new Level(Config.DOOR_PER_LEVEL, Config.DOOR_SIZE, 0);
+    }
+
+    public void setPasswordPrompt(PasswordPrompt passwordPrompt) {
+        this.passwordPrompt = passwordPrompt != null ? passwordPrompt : PasswordPrompt.CANCEL;
+    }
+
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler != null ? profiler : FrameProfiler.DISABLED;
+    }
+
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics != null ? metrics : GameMetrics.DISABLED;
+    }
+
+    public void setLevelListener(Consumer<Level> levelListener) {
+        this.levelListener = levelListener != null ? levelListener : level -> {};
+    }
+
+    // ปรับขนาดพื้นที่เกม แล้วเริ่มเลเวลปัจจุบันใหม่ตามขนาดนั้น
+    public void resize(int width, int height) {
+        this.width = Math.max(Config.DOOR_SIZE + 100, width);
+        this.height = Math.max(Config.DOOR_SIZE + 150, height);
+        resetLevel(levelIndex);
+    }
+
+    // รีเซ็ตสถานะของเลเวลที่ระบุ
+    public void resetLevel(int index) {
+        GameEvents.LevelReset event = new GameEvents.LevelReset();
+        event.begin();
+
+        levelIndex = index;
+        pendingReset = null;
+        activeDoor = null;
+
+        // ใช้ด่านที่สร้างไว้ล่วงหน้าถ้ามี ไม่อย่างนั้นสร้างตอนนี้เลยจาก seed เดียวกัน
+        long levelSeed = levelSeeds[index];
+        levelSeeds[index] = levelStreams[index].nextLong();
+        Level level = pregenerator.take(index, levelSeed, width, height);
+        boolean pregenerated = level != null;
+        if (pregenerated) {
+            levels.set(index, level);
+        } else {
+            level = levels.get(index);
+            level.reset(width, height, levelSeed);
+        }
+        player.updateBounds(width, height);
+        player.spawn();
+        projectiles.clear();
+        monsterGrid.resize(width, height);
+
+        // เตรียมมอนสเตอร์สำหรับเลเวลนี้ (แต่ละตัวได้สายสุ่มของตัวเอง)
+        SplittableRandom spawns = monsterStream.split();
+        for (Monster monster : monsters) {
+            monster.prepareForLevel(levelIndex, spawns.split(), width, height, clock);
+        }
+        levelListener.accept(level);
+        metrics.recordReset(index);
+
+        // เตรียมด่านที่ไปต่อได้จากด่านนี้: ผ่านประตูไปต่อ ย้อนกลับ และด่านแรก (ตายแล้วเริ่มใหม่)
+        schedulePregeneration(nextLevel(index));
+        schedulePregeneration(previousLevel(index));
+        schedulePregeneration(0);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.levelIndex = index;
+            event.pregenerated = pregenerated;
+            event.width = width;
+            event.height = height;
+            event.commit();
+        }
+    }
+
+    // จัดการการกดปุ่ม (ปุ่มเคลื่อนที่ระหว่างเปิด puzzle = ปิดหน้าพัซเซิล)
+    public void keyPressed(int code) {
+        if (activeDoor != null && activeDoor.type() == Door.Type.PUZZLE && isMovementKey(code)) {
+            closeInteraction();
+        } else {
+            player.handleKeyPressed(code);
+        }
+    }
+
+    public void keyReleased(int code) {
+        player.handleKeyReleased(code);
+    }
+
+    // อัปเดตโลกของเกมหนึ่ง tick
+    public void tick() {
+        // กล่องรหัสผ่านของ Swing มี event loop ซ้อน Timer จึงอาจเรียก tick ซ้ำเข้ามาระหว่างรอคำตอบ ไม่ให้โลกขยับ
+        if (prompting) return;
+        // ระหว่างเปิดประตู (พัซเซิล/รหัสผ่าน) มอนหยุด นาฬิกาก็หยุดด้วย คูลดาวน์จึงไม่หมดระหว่างที่เกมพัก
+        if (activeDoor == null) clock.tick();
+        metrics.recordTick();
+
+        // จำตำแหน่งก่อน tick เพื่อใช้ interpolate
+        player.capturePrevious();
+        for (Monster monster : monsters) monster.capturePrevious();
+
+        Level level = levels.get(levelIndex);
+        level.getDoors().forEach(Door::updateAnimation);
+
+        // อัปเดตผู้เล่น
+        if (activeDoor == null || player.isDead()) player.update();
+
+        // จัดการสถานะหลังตาย / รีเซ็ตเลเวล
+        if (player.isDead() && pendingReset == null) {
+            pendingReset = 0;
+        }
+
+        if (pendingReset != null && player.isDeathAnimationFinished()) {
+            resetLevel(pendingReset);
+            return;
+        }
+
+        if (player.isDead() || activeDoor != null) return;
+
+        // กระสุนขยับก่อนมอน (ลูกที่เพิ่งยิงใน tick นี้จะเริ่มขยับ tick ถัดไป)
+        profiler.begin(FrameProfiler.Phase.PROJECTILES);
+        boolean shot = projectiles.update(player, width, height);
+        profiler.end(FrameProfiler.Phase.PROJECTILES);
+        if (shot) {
+            metrics.recordDeath();
+            return;
+        }
+
+        // อัปเดตมอนสเตอร์และตรวจการชน
+        profiler.begin(FrameProfiler.Phase.MONSTERS);
+        Monster.updateAll(monsters, player, level, clock);
+        profiler.end(FrameProfiler.Phase.MONSTERS);
+
+        profiler.begin(FrameProfiler.Phase.COLLISIONS);
+        handleCollisions(level);
+        profiler.end(FrameProfiler.Phase.COLLISIONS);
+    }
+
+    // ตรวจการชนของผู้เล่นกับประตูและมอนสเตอร์
+    private void handleCollisions(Level level) {
+        DoorHit hit = level.detectDoorCollision(player);
+        if (hit != null) {
+            activeDoor = hit;
+            player.stopImmediately();
+
+            if (hit.type() == Door.Type.PUZZLE) return;
+            promptPassword(level, hit);
+            return;
+        }
+
+        // ชนมอนสเตอร์ -> ตายและรีเซ็ต (ตรวจเฉพาะมอนในช่องของ grid ที่ผู้เล่นทับ)
+        indexMonsters();
+        int count = monsterGrid.query(player.getX(), player.getY(), player.getSize(), player.getSize());
+        for (int i = 0; i < count; i++) {
+            if (player.intersects(monsters.get(monsterGrid.result(i)))) {
+                player.die();
+                metrics.recordDeath();
+                pendingReset = 0;
+                break;
+            }
+        }
+    }
+
+    // ใส่มอนที่ active ลง grid ตามตำแหน่งหลังอัปเดตใน tick นี้
+    private void indexMonsters() {
+        monsterGrid.clear();
+        for (int i = 0; i < monsters.size(); i++) {
+            Monster monster = monsters.get(i);
+            if (monster.isActive()) {
+                monsterGrid.insert(i, monster.getX(), monster.getY(), monster.getSize(), monster.getSize());
+            }
+        }
+    }
+
+    // ขอรหัสผ่านเมื่อชนประตูไปต่อ/ย้อนกลับ แล้วเปลี่ยนด่านตามผลลัพธ์
+    private void promptPassword(Level level, DoorHit hit) {
+        String input = ask(() -> passwordPrompt.requestPassword(level, hit));
+
+        if (level.validatePassword(input)) {
+            int next = hit.type() == Door.Type.ADVANCE ? nextLevel(levelIndex) : previousLevel(levelIndex);
+
+            if (next != levelIndex) {
+                resetLevel(next);
+            } else {
+                closeInteraction();
+            }
+            return;
+        }
+
+        if (input != null) {
+            ask(() -> {
+                passwordPrompt.passwordRejected(input);
+                return null;
+            });
+        }
+        closeInteraction();
+    }
+
+    // เรียก prompt โดยหยุดโลกไว้จนกว่าจะได้คำตอบ
+    private <T> T ask(Supplier<T> dialog) {
+        prompting = true;
+        try {
+            return dialog.get();
+        } finally {
+            prompting = false;
+        }
+    }
+
+    private void schedulePregeneration(int index) {
+        pregenerator.schedule(index, levelSeeds[index], width, height);
+    }
+
+    private static int nextLevel(int index) {
+        return (index + 1) % Config.TOTAL_LEVELS;
+    }
+
+    private static int previousLevel(int index) {
+        return Math.max(0, index - 1);
+    }
+
+    // ปิดหน้าพัซเซิล / กลับเข้าสู่การควบคุมปกติ
+    public void closeInteraction() {
+        if (activeDoor != null) {
+            levels.get(levelIndex).pushAway(player, activeDoor.door());
+        }
+        activeDoor = null;
+    }
+
+    // ตรวจว่าปุ่มที่กดเป็นปุ่มเคลื่อนที่หรือไม่
+    private boolean isMovementKey(int code) {
+        return switch (code) {
+            case KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_UP, KeyEvent.VK_DOWN,
+                 KeyEvent.VK_A, KeyEvent.VK_D, KeyEvent.VK_W, KeyEvent.VK_S -> true;
+            default -> false;
+        };
+    }
+
+    // hash ของสถานะที่การจำลองกำหนด (ด่าน ประตู ผู้เล่น มอน กระสุน เวลา) ใช้ตรวจว่าการเล่นซ้ำเดินทางเดียวกัน
+    public long stateHash() {
+        long h = mix(0, clock.ticks());
+        h = mix(h, levelIndex);
+        h = mix(h, activeDoor != null ? 1 : 0);
+        Level level = levels.get(levelIndex);
+        for (Integer number : level.getPuzzleNumbers()) h = mix(h, number);
+        for (int i = 0; i < level.getDoors().size(); i++) {
+            h = mix(h, level.getDoors().get(i).getType().ordinal());
+            h = mix(h, level.getDoorX(i));
+            h = mix(h, level.getDoorY(i));
+        }
+        h = mix(h, player.getX());
+        h = mix(h, player.getY());
+        h = mix(h, player.isDead() ? 1 : 0);
+        for (Monster monster : monsters) {
+            h = mix(h, monster.isActive() ? 1 : 0);
+            h = mix(h, monster.getX());
+            h = mix(h, monster.getY());
+        }
+        h = mix(h, projectiles.size());
+        for (int i = 0; i < projectiles.size(); i++) {
+            h = mix(h, Double.doubleToLongBits(projectiles.x(i)));
+            h = mix(h, Double.doubleToLongBits(projectiles.y(i)));
+        }
+        return h;
+    }
+
+    // รวมค่าเข้ากับ hash (ตัวผสมของ SplitMix64)
+    private static long mix(long h, long value) {
+        long z = (h ^ value) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public Player getPlayer() { return player; }
+    public List<Monster> getMonsters() { return monsters; }
+    public ProjectileSystem getProjectiles() { return projectiles; }
+    public Level getCurrentLevel() { return levels.get(levelIndex); }
+    public LevelPregenerator getPregenerator() { return pregenerator; }
+    public long getSeed() { return seed; }
+    public int getLevelIndex() { return levelIndex; }
+    public DoorHit getActiveDoor() { return activeDoor; }
+    public boolean isPrompting() { return prompting; }
+    public GameClock getClock() { return clock; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+}
@@ -0,0 +1,78 @@
+package system;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * GcMonitor — ติดตามการทำงานของ GC ทั้ง JVM ผ่าน GarbageCollectorMXBean
+ * จำนวนครั้งและเวลารวมอ่านจาก MXBean โดยตรง ส่วนเวลาหยุดของแต่ละครั้ง (pause)
+ * ได้จาก notification ที่ JVM ส่งมาหลัง GC เสร็จ (บนเธรดของ JMX ไม่ใช่เธรดเกม)
+ */
+public final class GcMonitor {
+
+    private static final GcMonitor INSTANCE = new GcMonitor();
+
+    private final GarbageCollectorMXBean[] collectors;
+    private final AtomicLong lastPauseMillis = new AtomicLong();
+    private final AtomicLong maxPauseMillis = new AtomicLong();
+    private volatile String lastCollector = "-";
+
+    private GcMonitor() {
+        collectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+        for (GarbageCollectorMXBean collector : collectors) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener((notification, handback) -> {
+                    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    long duration = info.getGcInfo().getDuration();
+                    lastPauseMillis.set(duration);
+                    maxPauseMillis.accumulateAndGet(duration, Math::max);
+                    lastCollector = info.getGcName();
+                }, null, null);
+            }
+        }
+    }
+
+    // มีตัวเดียวทั้ง JVM (listener ผูกกับ MXBean ของ JVM)
+    public static GcMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    // จำนวนครั้งที่ GC ทำงานรวมทุก collector
+    public long getCollectionCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) total += Math.max(0, collector.getCollectionCount());
+        return total;
+    }
+
+    // เวลารวมที่ใช้ใน GC (มิลลิวินาที)
+    public long getCollectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) total += Math.max(0, collector.getCollectionTime());
+        return total;
+    }
+
+    public long getLastPauseMillis() {
+        return lastPauseMillis.get();
+    }
+
+    public long getMaxPauseMillis() {
+        return maxPauseMillis.get();
+    }
+
+    public String getLastCollector() {
+        return lastCollector;
+    }
+
+    // heap ที่ใช้อยู่ (ไบต์)
+    public long getHeapUsed() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        return heap.getUsed();
+    }
+}
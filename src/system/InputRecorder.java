@@ -0,0 +1,164 @@
+package system;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * InputRecorder — บันทึก seed และอินพุตทุกอย่างที่เข้าสู่การจำลอง (ปุ่ม รหัสผ่าน การเปลี่ยนขนาด) พร้อมหมายเลข tick
+ * ลงไฟล์ไบนารีแบบ varint (ดู ReplayFormat) เพื่อเล่นซ้ำด้วย InputReplay
+ * คำนวณ state hash ของโลกทุก tick แล้วเขียนลงไฟล์ทุก Config.REPLAY_CHECKPOINT_TICKS และตอน close
+ * เธรดเกมเรียก keyPressed/endTick ส่วน close มักถูกเรียกจาก shutdown hook จึง synchronized ทุกเมธอด
+ */
+public class InputRecorder implements AutoCloseable {
+
+    private final Path file;
+    private final DataOutputStream out;
+    private boolean started;
+    private boolean closed;
+
+    private long ticks;      // จำนวน tick ที่จบไปแล้ว = หมายเลข tick ของอินพุตถัดไป
+    private long lastTick;   // tick ของเรคคอร์ดล่าสุด (เก็บเป็นระยะห่างในไฟล์)
+    private long lastHash;
+    private int events;
+
+    public InputRecorder(Path file) throws IOException {
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    }
+
+    // เขียนหัวไฟล์ (เรียกตอนสร้างโลก ก่อน tick แรก)
+    public synchronized void start(long seed, int width, int height) {
+        if (started || closed) return;
+        started = true;
+        try {
+            out.writeInt(ReplayFormat.MAGIC);
+            ReplayFormat.writeVarint(out, ReplayFormat.VERSION);
+            out.writeLong(seed);
+            ReplayFormat.writeVarint(out, width);
+            ReplayFormat.writeVarint(out, height);
+        } catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    public synchronized void keyPressed(int code) {
+        if (!begin(ReplayFormat.KEY_PRESSED)) return;
+        write(code);
+    }
+
+    public synchronized void keyReleased(int code) {
+        if (!begin(ReplayFormat.KEY_RELEASED)) return;
+        write(code);
+    }
+
+    public synchronized void resize(int width, int height) {
+        if (!begin(ReplayFormat.RESIZE)) return;
+        write(width);
+        write(height);
+    }
+
+    // รหัสผ่านที่ผู้เล่นกรอก (null = กดยกเลิก)
+    public synchronized void password(String input) {
+        if (!begin(ReplayFormat.PASSWORD)) return;
+        try {
+            if (input == null) {
+                ReplayFormat.writeVarint(out, 0);
+                return;
+            }
+            byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+            ReplayFormat.writeVarint(out, bytes.length + 1);
+            out.write(bytes);
+        } catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    // ห่อ prompt เดิมให้บันทึกคำตอบทุกครั้ง
+    public PasswordPrompt record(PasswordPrompt prompt) {
+        return new PasswordPrompt() {
+            @Override
+            public String requestPassword(Level level, Level.DoorHit hit) {
+                String input = prompt.requestPassword(level, hit);
+                password(input);
+                return input;
+            }
+
+            @Override
+            public void passwordRejected(String input) {
+                prompt.passwordRejected(input);
+            }
+        };
+    }
+
+    // เรียกหลังจบแต่ละ tick (รวม tick ที่ยังอยู่หน้าเมนู)
+    public synchronized void endTick(GameWorld world) {
+        if (!started || closed) return;
+        ticks++;
+        lastHash = world.stateHash();
+        if (ticks % Config.REPLAY_CHECKPOINT_TICKS == 0 && begin(ReplayFormat.CHECKPOINT)) {
+            try {
+                out.writeLong(lastHash);
+                out.flush(); // ถ้าโปรแกรมค้างหรือล่ม ไฟล์ยังเล่นซ้ำได้ถึงจุดนี้
+            } catch (IOException ex) {
+                fail(ex);
+            }
+        }
+    }
+
+    public synchronized long ticks() {
+        return ticks;
+    }
+
+    // เขียนเรคคอร์ดปิดท้ายพร้อม state hash ของ tick สุดท้ายแล้วปิดไฟล์ (เรียกซ้ำได้)
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        try {
+            if (started && begin(ReplayFormat.END)) out.writeLong(lastHash);
+            closed = true;
+            out.close();
+            System.out.printf("Recorded %d ticks, %d events, %d bytes -> %s%n", ticks, events, out.size(), file);
+        } catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    // เขียนระยะห่าง tick และชนิดของเรคคอร์ด (false = ยังไม่เริ่มหรือปิดไปแล้ว)
+    private boolean begin(int type) {
+        if (!started || closed) return false;
+        try {
+            ReplayFormat.writeVarint(out, ticks - lastTick);
+            ReplayFormat.writeVarint(out, type);
+            lastTick = ticks;
+            if (type < ReplayFormat.CHECKPOINT) events++;
+            return true;
+        } catch (IOException ex) {
+            fail(ex);
+            return false;
+        }
+    }
+
+    private void write(long value) {
+        try {
+            ReplayFormat.writeVarint(out, value);
+        } catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    // เขียนไม่ได้ (ดิสก์เต็ม ฯลฯ) หยุดบันทึกแต่ให้เกมเล่นต่อ
+    private void fail(IOException ex) {
+        if (closed) return;
+        closed = true;
+        System.err.println("⚠ Cannot write input recording: " + ex.getMessage());
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // ปิดไม่ได้ก็ไม่มีอะไรให้ทำต่อ
+        }
+    }
+}
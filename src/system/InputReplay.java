@@ -0,0 +1,218 @@
+package system;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * InputReplay — อ่านไฟล์ของ InputRecorder แล้วป้อนอินพุตกลับเข้าการจำลองตาม tick เดิม
+ * ใช้ seed และขนาดจอจากหัวไฟล์สร้างโลก จากนั้นทุก tick: applyInput (ปุ่ม/เปลี่ยนขนาด) → world.tick
+ * (รหัสผ่านมาจาก prompt()) → endTick ที่เทียบ state hash กับที่บันทึกไว้
+ * ไฟล์ที่ถูกตัดกลางทาง (โปรแกรมล่มตอนบันทึก) เล่นได้ถึง checkpoint สุดท้าย ใช้จากเธรดเดียว
+ */
+public class InputReplay {
+
+    // ปลายทางของอินพุตที่เล่นซ้ำ (GamePanel)
+    public interface Sink {
+        void keyPressed(int code);
+        void keyReleased(int code);
+        void resize(int width, int height);
+    }
+
+    private final long seed;
+    private final int width;
+    private final int height;
+
+    // เรคคอร์ดทั้งหมดเรียงตาม tick (ไฟล์เล็ก จึงอ่านเข้าหน่วยความจำทีเดียว)
+    private final long[] recordTicks;
+    private final int[] types;
+    private final long[] values;     // keyCode / ความกว้าง / state hash
+    private final int[] extras;      // ความสูงของ RESIZE
+    private final String[] passwords;
+    private final int count;
+    private final long endTick;      // tick ที่หยุดบันทึก (END หรือ checkpoint สุดท้าย)
+    private final boolean complete;  // มีเรคคอร์ด END
+
+    private int cursor;
+    private long ticks;
+    private int checkpoints;
+    private long mismatchTick = -1;  // tick แรกที่ hash ไม่ตรง (-1 = ยังตรงทั้งหมด)
+    private String mismatch;
+
+    private InputReplay(long seed, int width, int height, List<long[]> records, List<String> passwordList,
+                        boolean complete) {
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.count = records.size();
+        this.recordTicks = new long[count];
+        this.types = new int[count];
+        this.values = new long[count];
+        this.extras = new int[count];
+        this.passwords = passwordList.toArray(new String[0]);
+        long last = 0;
+        for (int i = 0; i < count; i++) {
+            long[] r = records.get(i);
+            recordTicks[i] = r[0];
+            types[i] = (int) r[1];
+            values[i] = r[2];
+            extras[i] = (int) r[3];
+            if (types[i] == ReplayFormat.CHECKPOINT || types[i] == ReplayFormat.END) last = r[0];
+        }
+        this.endTick = last;
+        this.complete = complete;
+    }
+
+    public static InputReplay open(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            long seed;
+            int width;
+            int height;
+            try {
+                if (in.readInt() != ReplayFormat.MAGIC) throw new IOException("Not an input recording: " + file);
+                long version = ReplayFormat.readVarint(in);
+                if (version != ReplayFormat.VERSION) throw new IOException("Unsupported recording version " + version);
+                seed = in.readLong();
+                width = (int) ReplayFormat.readVarint(in);
+                height = (int) ReplayFormat.readVarint(in);
+            } catch (EOFException ex) {
+                throw new IOException("Recording has no header (empty or cut short): " + file);
+            }
+
+            // แต่ละเรคคอร์ด: {tick, ชนิด, ค่า, ค่าเสริม} รหัสผ่านเก็บแยก (ค่า = index ใน passwords, -1 = ยกเลิก)
+            List<long[]> records = new ArrayList<>();
+            List<String> passwords = new ArrayList<>();
+            long tick = 0;
+            boolean complete = false;
+            try {
+                while (!complete) {
+                    tick += ReplayFormat.readVarint(in);
+                    int type = (int) ReplayFormat.readVarint(in);
+                    long value = 0;
+                    long extra = 0;
+                    switch (type) {
+                        case ReplayFormat.KEY_PRESSED, ReplayFormat.KEY_RELEASED -> value = ReplayFormat.readVarint(in);
+                        case ReplayFormat.RESIZE -> {
+                            value = ReplayFormat.readVarint(in);
+                            extra = ReplayFormat.readVarint(in);
+                        }
+                        case ReplayFormat.PASSWORD -> {
+                            int length = (int) ReplayFormat.readVarint(in);
+                            value = -1;
+                            if (length > 0) {
+                                byte[] bytes = new byte[length - 1];
+                                in.readFully(bytes);
+                                value = passwords.size();
+                                passwords.add(new String(bytes, StandardCharsets.UTF_8));
+                            }
+                        }
+                        case ReplayFormat.CHECKPOINT -> value = in.readLong();
+                        case ReplayFormat.END -> {
+                            value = in.readLong();
+                            complete = true;
+                        }
+                        default -> throw new IOException("Unknown record type " + type + " at tick " + tick);
+                    }
+                    records.add(new long[]{tick, type, value, extra});
+                }
+            } catch (EOFException ex) {
+                // ไฟล์ถูกตัด: ใช้เท่าที่อ่านได้ (อาจมีเรคคอร์ดท้ายสุดไม่ครบ ซึ่งถูกทิ้งไปแล้ว)
+            }
+            return new InputReplay(seed, width, height, records, passwords, complete);
+        }
+    }
+
+    // ป้อนปุ่มและการเปลี่ยนขนาดของ tick ปัจจุบัน (เรียกก่อน world.tick)
+    public void applyInput(Sink sink) {
+        while (cursor < count && recordTicks[cursor] == ticks) {
+            int type = types[cursor];
+            if (type == ReplayFormat.KEY_PRESSED) {
+                sink.keyPressed((int) values[cursor]);
+            } else if (type == ReplayFormat.KEY_RELEASED) {
+                sink.keyReleased((int) values[cursor]);
+            } else if (type == ReplayFormat.RESIZE) {
+                sink.resize((int) values[cursor], extras[cursor]);
+            } else {
+                break; // รหัสผ่านของ tick นี้ถูกใช้ระหว่าง world.tick / hash ตรวจตอน endTick
+            }
+            cursor++;
+        }
+    }
+
+    // prompt ที่ตอบด้วยรหัสผ่านที่บันทึกไว้ใน tick เดียวกัน
+    public PasswordPrompt prompt() {
+        return (level, hit) -> {
+            if (cursor < count && recordTicks[cursor] == ticks && types[cursor] == ReplayFormat.PASSWORD) {
+                int index = (int) values[cursor++];
+                return index >= 0 ? passwords[index] : null;
+            }
+            diverged("password prompt that was not recorded");
+            return null;
+        };
+    }
+
+    // เรียกหลังจบแต่ละ tick: ตรวจ state hash ถ้ามีบันทึกไว้ที่ tick นี้
+    public void endTick(GameWorld world) {
+        if (isFinished()) return;
+        ticks++;
+        // อินพุตที่ยังค้างอยู่ของ tick ที่ผ่านไปแล้วแปลว่าการจำลองเดินคนละทาง (เช่นบันทึกรหัสผ่านไว้แต่ไม่มีการถาม)
+        while (cursor < count && recordTicks[cursor] < ticks) {
+            diverged("unused " + describe(types[cursor]));
+            cursor++;
+        }
+        while (cursor < count && recordTicks[cursor] == ticks
+                && (types[cursor] == ReplayFormat.CHECKPOINT || types[cursor] == ReplayFormat.END)) {
+            long expected = values[cursor++];
+            long actual = world.stateHash();
+            checkpoints++;
+            if (expected != actual) {
+                diverged(String.format("state hash %016x, recorded %016x", actual, expected));
+            }
+        }
+    }
+
+    // เล่นครบถึง tick ที่หยุดบันทึกแล้ว
+    public boolean isFinished() {
+        return ticks >= endTick;
+    }
+
+    public boolean matched() {
+        return mismatchTick < 0;
+    }
+
+    public long seed() { return seed; }
+    public int width() { return width; }
+    public int height() { return height; }
+    public long ticks() { return ticks; }
+    public long endTick() { return endTick; }
+
+    public String summary() {
+        String result = matched()
+                ? "state hash matched"
+                : "DESYNC at tick " + mismatchTick + ": " + mismatch;
+        return String.format("Replay %d/%d ticks, %d checkpoints%s: %s", ticks, endTick, checkpoints,
+                complete ? "" : " (recording was cut short)", result);
+    }
+
+    private void diverged(String reason) {
+        if (mismatchTick >= 0) return; // เก็บแค่จุดแรก ที่เหลือเป็นผลต่อเนื่อง
+        mismatchTick = ticks;
+        mismatch = reason;
+    }
+
+    private static String describe(int type) {
+        return switch (type) {
+            case ReplayFormat.KEY_PRESSED -> "key press";
+            case ReplayFormat.KEY_RELEASED -> "key release";
+            case ReplayFormat.PASSWORD -> "password";
+            case ReplayFormat.RESIZE -> "resize";
+            default -> "checkpoint";
+        };
+    }
+}
@@ -2,29 +2,51 @@ package system;
 
 import entity.Sprite;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 // จัดการการสร้างเลเวล ประตู และรหัสผ่านในแต่ละด่าน
 public class Level {
 
     private final int doorSize;
     private final int doorCount;
-    private final Random random = new Random();
+    private SplittableRandom random;
+    private final PoissonDisk poissonDisk = new PoissonDisk(); // ตัวสุ่มตำแหน่งประตู (ใช้บัฟเฟอร์ซ้ำทุก reset)
+    private int[] order = new int[0];                        // ใช้เลือกจุดแบบสุ่มจากชุด Poisson-disk
     private final List<Door> doors = new ArrayList<>();
+    private final SpatialGrid doorGrid = new SpatialGrid(Config.SPATIAL_CELL_SIZE); // id = index ใน doors
+    private int[] doorX = new int[0]; // ตำแหน่งประตูบนจอ คำนวณครั้งเดียวตอน reset (แทน Door.getX/getY ทุก tick)
+    private int[] doorY = new int[0];
+    private List<Integer> puzzleNumbers = List.of(); // หมายเลข Puzzle ที่ด่านนี้ใช้
 
     private int password;
+    private int placementAttempts; // จำนวนตำแหน่งที่สุ่มทดลองในการ reset ล่าสุด
+    private int doorSpacing;       // ระยะห่างขั้นต่ำระหว่างประตูที่ได้จริงในการ reset ล่าสุด
     private int width;
     private int height;
 
     public Level(int doorCount, int doorSize) {
+        this(doorCount, doorSize, GameRandom.newSeed());
+    }
+
+    // seed เดียวกัน + ขนาดจอเดียวกัน = รหัส ประตู และตำแหน่งเหมือนเดิมทุกครั้ง
+    public Level(int doorCount, int doorSize, long seed) {
         this.doorCount = doorCount;
         this.doorSize = doorSize;
+        this.random = new SplittableRandom(seed);
+    }
+
+    // รีเซ็ตด่านจาก seed ที่กำหนด (ผลขึ้นกับ seed และขนาดจอเท่านั้น ไม่ขึ้นกับการ reset ครั้งก่อน ๆ)
+    public void reset(int width, int height, long seed) {
+        random = new SplittableRandom(seed);
+        reset(width, height);
     }
 
-    // รีเซ็ตด่านใหม่ (ใช้ทุกครั้งที่เริ่มเลเวล)
+    // รีเซ็ตด่านใหม่โดยสุ่มต่อจากสายเดิมของด่านนี้
     public void reset(int width, int height) {
+        GameEvents.LevelGenerate event = new GameEvents.LevelGenerate();
+        event.begin();
+
         this.width = width;
         this.height = height;
         doors.clear();
@@ -32,17 +54,18 @@ public class Level {
 
         // สุ่มเลขจาก pool สำหรับใช้เป็นรหัส (รวมกันเป็นคำตอบ)
         List<Integer> pool = new ArrayList<>(Config.PUZZLE_POOL);
-        Collections.shuffle(pool, random);
+        GameRandom.shuffle(pool, random);
         List<Integer> selected = pool.subList(0, Math.min(4, pool.size()));
         for (int v : selected) password += v;
-        Collections.shuffle(selected, random);
+        GameRandom.shuffle(selected, random);
+        puzzleNumbers = List.copyOf(selected);
 
         // สร้างรายการประเภทของประตู (1 ไปต่อ, 1 ย้อนกลับ, ที่เหลือเป็น Puzzle)
         List<Door.Type> types = new ArrayList<>();
         types.add(Door.Type.ADVANCE);
         types.add(Door.Type.BACK);
         while (types.size() < doorCount) types.add(Door.Type.PUZZLE);
-        Collections.shuffle(types, random);
+        GameRandom.shuffle(types, random);
 
         // คำนวณตำแหน่งสุ่มของประตูแต่ละบาน
         List<int[]> spots = buildDoorPositions();
@@ -59,20 +82,73 @@ public class Level {
             }
             doors.add(door);
         }
+        indexDoors();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.doorCount = doorCount;
+            event.placementAttempts = placementAttempts;
+            event.doorSpacing = doorSpacing;
+            event.width = width;
+            event.height = height;
+            event.commit();
+        }
+    }
+
+    public int getPlacementAttempts() {
+        return placementAttempts;
+    }
+
+    public int getDoorSpacing() {
+        return doorSpacing;
+    }
+
+    public List<Integer> getPuzzleNumbers() {
+        return puzzleNumbers;
     }
 
     public List<Door> getDoors() {
         return doors;
     }
 
-    // ตรวจการชนของ Sprite กับประตู
+    // ตรวจการชนของ Sprite กับประตู (ตรวจเฉพาะประตูในช่องของ grid ที่ sprite ทับ)
     public DoorHit detectDoorCollision(Sprite sprite) {
-        for (Door door : doors) {
-            if (sprite.intersects(door.getX(width), door.getY(height), doorSize, doorSize)) {
-                return new DoorHit(door);
+        int count = doorGrid.query(sprite.getX(), sprite.getY(), sprite.getSize(), sprite.getSize());
+        Door hit = null;
+        int hitIndex = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            int d = doorGrid.result(i);
+            // ถ้าทับหลายบาน เลือกบานที่มาก่อนในลิสต์ (เหมือนการไล่ลิสต์ตามลำดับ)
+            if (d < hitIndex && sprite.intersects(doorX[d], doorY[d], doorSize, doorSize)) {
+                hit = doors.get(d);
+                hitIndex = d;
             }
         }
-        return null;
+        return hit != null ? new DoorHit(hit) : null;
+    }
+
+    // ตำแหน่งบนจอของประตูลำดับที่ index (ค่าที่คำนวณไว้ตอน reset)
+    public int getDoorX(int index) {
+        return doorX[index];
+    }
+
+    public int getDoorY(int index) {
+        return doorY[index];
+    }
+
+    // คำนวณตำแหน่งประตูบนจอครั้งเดียว แล้วใส่ลง grid
+    private void indexDoors() {
+        if (doorX.length < doors.size()) {
+            doorX = new int[doors.size()];
+            doorY = new int[doors.size()];
+        }
+        doorGrid.resize(width, height);
+        for (int i = 0; i < doors.size(); i++) {
+            Door door = doors.get(i);
+            doorX[i] = door.getX(width);
+            doorY[i] = door.getY(height);
+            doorGrid.insert(i, doorX[i], doorY[i], doorSize, doorSize);
+        }
     }
 
     // ตรวจว่ารหัสที่กรอกตรงกับคำตอบหรือไม่
@@ -93,30 +169,53 @@ public class Level {
         sprite.pushOutside(door.getX(width), door.getY(height), doorSize, doorSize);
     }
 
-    // สุ่มตำแหน่งประตู โดยตรวจไม่ให้ซ้อนกัน
+    // สุ่มตำแหน่งประตูแบบ Poisson-disk: ทุกบานห่างกันอย่างน้อย doorSize + 10
+    // ขั้นแรกสุ่มตำแหน่งทั่วจอแล้วเก็บตัวที่ไม่ชน (ตรวจด้วยตารางของ PoissonDisk แทนการเทียบกับทุกบาน)
+    // ถ้าจอแน่นจนสุ่มไม่ครบ ใช้ชุดเต็มพื้นที่ของ Bridson แล้วเลือกมา doorCount จุด ถ้ายังไม่พอค่อยลดระยะลงทีละขั้น
+    // (ระยะที่ได้จริงดูได้จาก getDoorSpacing)
     private List<int[]> buildDoorPositions() {
-        List<int[]> points = new ArrayList<>();
-        int attempts = 0;
-
-        // พยายามสุ่มตำแหน่งจนกว่าจะครบจำนวนหรือครบจำนวนครั้งสูงสุด
-        while (points.size() < doorCount && attempts++ < 5000) {
-            int px = 50 + random.nextInt(Math.max(1, width - 100 - doorSize));
-            int py = 80 + random.nextInt(Math.max(1, height - 150 - doorSize));
-
-            // ตรวจระยะห่างระหว่างประตู ไม่ให้วางใกล้กันเกินไป
-            if (points.stream().noneMatch(p ->
-                    Utils.distanceSquared(px, py, p[0], p[1]) < (doorSize + 10) * (doorSize + 10))) {
-                points.add(new int[]{px, py});
+        int spanX = Math.max(1, width - 100 - doorSize);
+        int spanY = Math.max(1, height - 150 - doorSize);
+        int spacing = doorSize + 10;
+        List<int[]> points = new ArrayList<>(doorCount);
+
+        // +2 เผื่อระยะที่หดจากการปัดพิกัดเป็น int (ไม่เกิน √2)
+        int found = poissonDisk.throwDarts(random, spanX, spanY, spacing + 2,
+                doorCount, 5000 + 30 * doorCount);
+        int attempts = poissonDisk.getCandidatesTried();
+        if (found >= doorCount) {
+            // จุดที่สุ่มได้กระจายทั่วจออยู่แล้ว ใช้ตามลำดับได้เลย
+            for (int i = 0; i < doorCount; i++) {
+                points.add(new int[]{50 + (int) poissonDisk.x(i), 80 + (int) poissonDisk.y(i)});
+            }
+        } else {
+            while (true) {
+                found = poissonDisk.sample(random, spanX, spanY, spacing + 2);
+                attempts += poissonDisk.getCandidatesTried();
+                if (found >= doorCount || spacing <= 1) break;
+                spacing = Math.min(spacing - 1, spacing * 9 / 10);
+            }
+
+            // เลือก doorCount จุดจากชุดที่ได้ (partial Fisher–Yates) ชุดเต็มพื้นที่ จึงกระจายทั่วจอ
+            if (order.length < found) order = new int[found];
+            for (int i = 0; i < found; i++) order[i] = i;
+            for (int i = 0; i < Math.min(doorCount, found); i++) {
+                int pick = i + random.nextInt(found - i);
+                int chosen = order[pick];
+                order[pick] = order[i];
+                order[i] = chosen;
+                points.add(new int[]{50 + (int) poissonDisk.x(chosen), 80 + (int) poissonDisk.y(chosen)});
             }
         }
 
-        // ถ้าสุ่มไม่ครบ ให้เรียงตำแหน่งแบบ fallback
+        // พื้นที่เล็กกว่าจำนวนประตู (แทบเป็นไปไม่ได้) ประตูที่เหลือจำเป็นต้องซ้อนกัน
         while (points.size() < doorCount) {
-            int fx = Utils.clamp(60 * points.size(), 0, Math.max(0, width - doorSize));
-            int fy = Utils.clamp(100 + 40 * points.size(), 0, Math.max(0, height - doorSize));
-            points.add(new int[]{fx, fy});
+            points.add(new int[]{50 + random.nextInt(spanX), 80 + random.nextInt(spanY)});
+            spacing = 0;
         }
 
+        placementAttempts = attempts;
+        doorSpacing = spacing;
         return points;
     }
 
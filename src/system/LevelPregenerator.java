@@ -0,0 +1,82 @@
+package system;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * LevelPregenerator — สร้างด่านที่ผู้เล่นน่าจะไปต่อไว้ล่วงหน้าบนเธรดเบื้องหลัง ระหว่างที่ด่านปัจจุบันกำลังเล่นอยู่
+ * ด่านที่สร้างเสร็จเป็นอ็อบเจกต์ Level ใหม่ (ไม่แตะตัวที่กำลังเล่น) ฝากไว้ในช่องของหมายเลขด่านนั้น
+ * เธรดเกมหยิบออกด้วย getAndSet แบบ atomic ตอนเปลี่ยนด่าน ถ้ายังไม่เสร็จหรือสร้างไว้คนละ seed/ขนาดจอ take คืน null
+ * ให้ผู้เรียกสร้างเองจาก seed เดียวกัน ด่านที่ได้จึงเหมือนกันไม่ว่าจะสร้างจากเธรดไหน เธรดเบื้องหลังเป็น daemon และปิดตัวเองเมื่อว่างนาน
+ * schedule/take เรียกจากเธรดเกมเท่านั้น
+ */
+public class LevelPregenerator {
+
+    private static final long IDLE_SECONDS = 5; // เธรดว่างนานเท่านี้แล้วปิด (สร้างใหม่เมื่อมีงาน)
+
+    // ด่านที่สร้างเสร็จแล้วพร้อม seed และขนาดจอที่ใช้สร้าง
+    private record Prepared(Level level, long seed, int width, int height) {}
+
+    private final IntFunction<Level> factory;
+    private final AtomicReferenceArray<Prepared> ready;
+    private final long[] requestedSize; // ขนาดจอ (width << 32 | height) ที่สั่งสร้างล่าสุดของแต่ละด่าน 0 = ไม่ได้สั่ง
+    private final long[] requestedSeed;
+    private final ThreadPoolExecutor executor;
+
+    private int hits;
+    private int misses;
+
+    // factory สร้าง Level ใหม่ของหมายเลขด่านที่ให้ (ถูกเรียกบนเธรดเบื้องหลัง)
+    public LevelPregenerator(int levelCount, IntFunction<Level> factory) {
+        this.factory = factory;
+        this.ready = new AtomicReferenceArray<>(levelCount);
+        this.requestedSize = new long[levelCount];
+        this.requestedSeed = new long[levelCount];
+        this.executor = new ThreadPoolExecutor(1, 1, IDLE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "level-pregen");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY); // ไม่แย่ง CPU จากเธรดเกม
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    // สั่งสร้างด่าน index จาก seed ขนาด width x height (ข้ามถ้ามีหรือกำลังสร้างแบบเดียวกันอยู่แล้ว)
+    public void schedule(int index, long seed, int width, int height) {
+        long size = (long) width << 32 | height;
+        if (requestedSize[index] == size && requestedSeed[index] == seed) return;
+        requestedSize[index] = size;
+        requestedSeed[index] = seed;
+        executor.execute(() -> {
+            Level level = factory.apply(index);
+            level.reset(width, height, seed);
+            ready.set(index, new Prepared(level, seed, width, height));
+        });
+    }
+
+    // หยิบด่าน index ที่สร้างไว้จาก seed และขนาดนี้ออกมาใช้ (null = ไม่มี ผู้เรียกต้องสร้างเอง)
+    public Level take(int index, long seed, int width, int height) {
+        Prepared prepared = ready.getAndSet(index, null);
+        requestedSize[index] = 0; // ครั้งหน้าต้องสั่งใหม่ (ตัวที่หยิบไปถูกใช้แล้ว หรือกำลังสร้างแบบเก่าอยู่)
+        if (prepared != null && prepared.seed() == seed
+                && prepared.width() == width && prepared.height() == height) {
+            hits++;
+            return prepared.level();
+        }
+        misses++;
+        return null;
+    }
+
+    // จำนวนครั้งที่เปลี่ยนด่านได้จากของที่สร้างไว้ / ต้องสร้างเองบนเธรดเกม
+    public int hits() {
+        return hits;
+    }
+
+    public int misses() {
+        return misses;
+    }
+}
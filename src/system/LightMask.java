@@ -0,0 +1,63 @@
+package system;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * LightMask — พื้นผิว mask ของแสงแบบใช้ซ้ำ (double-buffered)
+ * จองภาพใหม่เฉพาะตอนเปลี่ยนขนาดจอ แล้วล้างภาพเดิมในแต่ละเฟรมแทนการสร้างใหม่
+ */
+public class LightMask {
+
+    private final BufferedImage[] buffers = new BufferedImage[2];
+    private int width;
+    private int height;
+    private int current;
+
+    // ตัวนับไว้ตรวจว่าไม่มีการจองภาพต่อเฟรมอีกแล้ว
+    private long allocations;
+    private long reuses;
+
+    public LightMask(int width, int height) {
+        resize(width, height);
+    }
+
+    // ปรับขนาด mask (จองภาพใหม่เฉพาะเมื่อขนาดเปลี่ยนจริง)
+    public void resize(int width, int height) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        if (width == this.width && height == this.height && buffers[0] != null) return;
+
+        this.width = width;
+        this.height = height;
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] != null) buffers[i].flush();
+            buffers[i] = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            allocations++;
+        }
+    }
+
+    // วาด mask ของเฟรมนี้ลงบัฟเฟอร์ถัดไป แล้วคืนภาพที่พร้อมวาดทับฉาก
+    public BufferedImage render(List<Lighting.LightSource> lights) {
+        current = (current + 1) % buffers.length;
+        BufferedImage mask = buffers[current];
+        reuses++;
+
+        Graphics2D g = mask.createGraphics();
+        // ล้างภาพเดิมให้โปร่งใสทั้งหมดก่อนวาดเงาใหม่
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+
+        Lighting.paintMask(g, width, height, lights);
+        g.dispose();
+        return mask;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public long getAllocationCount() { return allocations; }
+    public long getReuseCount() { return reuses; }
+}
@@ -0,0 +1,74 @@
+package system;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RadialGradientPaint;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LightStampCache — เก็บภาพแสงแบบรัศมีที่วาดไว้ล่วงหน้า (stamp)
+ * วาด gradient เพียงครั้งเดียวต่อรัศมี แล้วใช้ drawImage ธรรมดาในทุกเฟรม
+ * รัศมีในเกมมีไม่กี่ค่า (ผู้เล่น + มอนแต่ละประเภท) cache จึงเล็กมาก
+ * ใช้ร่วมกันได้หลายเธรด (ลูปเกม benchmark และการรันแบบ headless) แต่ละ stamp ถูกสร้างครั้งเดียว
+ */
+public final class LightStampCache {
+
+    // รูปแบบการจางของแสงจากกลางไปขอบ
+    public enum Falloff {
+        LINEAR(new float[]{0f, 1f}, new float[]{1f, 0f}),              // จางแบบเส้นตรง (ค่าเริ่มต้นของเกม)
+        SMOOTH(new float[]{0f, 0.5f, 1f}, new float[]{1f, 0.75f, 0f});  // สว่างค้างตรงกลางนานกว่า
+
+        private final float[] fractions;
+        private final float[] alphas;
+
+        Falloff(float[] fractions, float[] alphas) {
+            this.fractions = fractions;
+            this.alphas = alphas;
+        }
+    }
+
+    // stamp ตามรัศมี แยกตามรูปแบบการจาง (map ชั้นนอกสร้างครบตั้งแต่โหลดคลาสแล้วไม่เปลี่ยนอีก)
+    private static final Map<Falloff, Map<Integer, BufferedImage>> CACHE = new EnumMap<>(Falloff.class);
+    static {
+        for (Falloff falloff : Falloff.values()) CACHE.put(falloff, new ConcurrentHashMap<>());
+    }
+
+    private LightStampCache() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    // ดึง stamp ตามรัศมีและรูปแบบการจาง (สร้างใหม่เฉพาะครั้งแรก)
+    public static BufferedImage get(int radius, Falloff falloff) {
+        return CACHE.get(falloff).computeIfAbsent(Math.max(1, radius), r -> bake(r, falloff));
+    }
+
+    // จำนวน stamp ที่ถูกสร้างไว้ทั้งหมด (ใช้ตรวจว่า cache ยังเล็กอยู่)
+    public static int size() {
+        int total = 0;
+        for (Map<Integer, BufferedImage> stamps : CACHE.values()) total += stamps.size();
+        return total;
+    }
+
+    // ล้าง cache ทั้งหมด
+    public static void clear() {
+        for (Map<Integer, BufferedImage> stamps : CACHE.values()) stamps.clear();
+    }
+
+    // วาด gradient ลงภาพขนาด 2r x 2r ที่มีเฉพาะค่า alpha ของแสง
+    private static BufferedImage bake(int radius, Falloff falloff) {
+        int diameter = radius * 2;
+        BufferedImage image = new BufferedImage(diameter, diameter, BufferedImage.TYPE_INT_ARGB);
+        Color[] colors = new Color[falloff.alphas.length];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = new Color(1f, 1f, 1f, falloff.alphas[i]);
+        }
+
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new RadialGradientPaint(new Point2D.Float(radius, radius), radius, falloff.fractions, colors));
+        g.fillOval(0, 0, diameter, diameter);
+        g.dispose();
+        return image;
+    }
+}
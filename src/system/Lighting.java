@@ -15,40 +15,63 @@ public final class Lighting {
 
     private Lighting() {} // utility class ไม่ให้สร้างอ็อบเจกต์
 
-    // สร้างภาพ mask ของแสงทั้งหมดบนฉาก
+    // สร้างภาพ mask ของแสงทั้งหมดบนฉาก (จองภาพใหม่ทุกครั้ง — ในลูปเกมให้ใช้ LightMask แทน)
     public static BufferedImage createMask(int width, int height, List<LightSource> lights) {
         BufferedImage mask = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g = mask.createGraphics();
+        paintMask(g, width, height, lights);
+        g.dispose();
+        return mask;
+    }
 
-        // วาดพื้นมืดก่อน แล้วค่อยวาดแสงทับ
+    // วาดพื้นมืดก่อน แล้วค่อยเจาะแสงทับ ลงบน Graphics ที่ส่งมา (ต้องเป็นพื้นโปร่งใส)
+    public static void paintMask(Graphics2D g, int width, int height, List<LightSource> lights) {
         EffectRenderer.drawShadow(g, 0, 0, width, height, 0.92f);
         for (LightSource light : lights) {
             EffectRenderer.drawLight(g, light.x(), light.y(), light.radius(), 1f);
         }
-
-        g.dispose();
-        return mask;
     }
 
     // ตรวจว่าจุดที่กำหนดอยู่ในบริเวณที่มีแสงหรือไม่
     public static boolean isPointLit(int px, int py, List<LightSource> lights) {
         for (LightSource light : lights) {
-            // ใช้ระยะกำลังสองเพื่อลดการใช้ sqrt()
-            if (Utils.distanceSquared(px, py, light.x(), light.y()) <= light.radius() * light.radius()) {
-                return true;
-            }
+            if (isLitBy(px, py, light)) return true;
+        }
+        return false;
+    }
+
+    // ใส่แสงทั้งหมดลง grid (id = index ในลิสต์ กรอบ = สี่เหลี่ยมรอบวงแสง) สำหรับ isPointLit แบบใช้ grid
+    public static void index(List<LightSource> lights, SpatialGrid grid, int width, int height) {
+        grid.resize(width, height);
+        for (int i = 0; i < lights.size(); i++) {
+            LightSource light = lights.get(i);
+            int r = light.radius();
+            grid.insert(i, light.x() - r, light.y() - r, 2 * r + 1, 2 * r + 1);
+        }
+    }
+
+    // เหมือน isPointLit แต่ตรวจเฉพาะแสงในช่องเดียวกับจุด (grid ต้องผ่าน index มาแล้ว)
+    public static boolean isPointLit(int px, int py, List<LightSource> lights, SpatialGrid grid) {
+        int count = grid.queryPoint(px, py);
+        for (int i = 0; i < count; i++) {
+            if (isLitBy(px, py, lights.get(grid.result(i)))) return true;
         }
         return false;
     }
 
-    // รวมแหล่งกำเนิดแสงจากผู้เล่นและมอนสเตอร์ทั้งหมด
-    public static List<LightSource> collect(Player player, List<Monster> monsters) {
+    private static boolean isLitBy(int px, int py, LightSource light) {
+        // ใช้ระยะกำลังสองเพื่อลดการใช้ sqrt()
+        return Utils.distanceSquared(px, py, light.x(), light.y()) <= light.radius() * light.radius();
+    }
+
+    // รวมแหล่งกำเนิดแสงจากผู้เล่นและมอนสเตอร์ทั้งหมด (ตำแหน่งเดียวกับที่วาดตาม alpha)
+    public static List<LightSource> collect(Player player, List<Monster> monsters, float alpha) {
         List<LightSource> lights = new ArrayList<>();
 
         // แสงจากผู้เล่น
         lights.add(new LightSource(
-                player.getCenterX(),
-                player.getCenterY(),
+                player.getRenderCenterX(alpha),
+                player.getRenderCenterY(alpha),
                 Config.PLAYER_LIGHT_RADIUS
         ));
 
@@ -56,8 +79,8 @@ public final class Lighting {
         for (Monster monster : monsters) {
             if (monster.isActive()) {
                 lights.add(new LightSource(
-                        monster.getCenterX(),
-                        monster.getCenterY(),
+                        monster.getRenderCenterX(alpha),
+                        monster.getRenderCenterY(alpha),
                         Config.MONSTER_LIGHT[monster.getAttackType().ordinal()]
                 ));
             }
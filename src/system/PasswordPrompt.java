@@ -0,0 +1,17 @@
+package system;
+
+/**
+ * PasswordPrompt — กลยุทธ์การขอรหัสผ่านเมื่อผู้เล่นชนประตูไปต่อ/ย้อนกลับ
+ * ฝั่ง Swing ใช้กล่องโต้ตอบ ส่วนโหมด headless/ทดสอบ ใส่การทำงานอื่นแทนได้
+ */
+public interface PasswordPrompt {
+
+    // ไม่ตอบอะไรเลย (เหมือนกด Cancel) — ค่าเริ่มต้นของโลกแบบ headless
+    PasswordPrompt CANCEL = (level, hit) -> null;
+
+    // ขอรหัสผ่านสำหรับประตูที่ชน คืนค่า null ถ้าผู้เล่นยกเลิก
+    String requestPassword(Level level, Level.DoorHit hit);
+
+    // แจ้งเมื่อรหัสที่กรอกไม่ถูกต้อง (optional)
+    default void passwordRejected(String input) {}
+}
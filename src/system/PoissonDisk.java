@@ -0,0 +1,149 @@
+package system;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * PoissonDisk — สุ่มจุดที่ทุกคู่ห่างกันอย่างน้อย radius (Poisson-disk) โดยใช้ตารางช่องขนาด radius/√2
+ * หนึ่งช่องมีได้ไม่เกินหนึ่งจุด การตรวจตัวเลือกแต่ละตัวจึงดูแค่ 5x5 ช่องรอบ ๆ แทนการเทียบกับทุกจุด
+ * มีสองแบบ:
+ *   throwDarts — สุ่มตำแหน่งทั่วพื้นที่แล้วเก็บตัวที่ไม่ชนจนได้ตามจำนวน (เร็วมากเมื่อพื้นที่ยังโล่ง)
+ *   sample     — วิธีของ Bridson ขยายจากจุดที่มีอยู่จนเต็มพื้นที่ (ไม่มีที่ว่างพอจะใส่เพิ่ม)
+ * ทั้งสองแบบใช้เวลาเฉลี่ย O(จำนวนจุด) และได้ผลเหมือนเดิมถ้าตัวสุ่มเริ่มจาก seed เดียวกัน
+ * อาร์เรย์ทั้งหมดถูกใช้ซ้ำระหว่างการเรียก ใช้จากเธรดเดียว
+ */
+public class PoissonDisk {
+
+    private static final int CANDIDATES = 8; // จำนวนตัวเลือกรอบจุด active ก่อนเลิก (น้อยกว่า 30 ของ Bridson เดิม เพราะตัวเลือกเรียงรอบวง)
+    // ตัวเลือกวางเรียงรอบวงเป็นมุมเท่า ๆ กันจากมุมเริ่มสุ่ม (หมุนด้วยการคูณ cos/sin ของมุมที่คำนวณไว้ จึงไม่ต้องเรียก trig ทุกตัว)
+    private static final double STEP_COS = Math.cos(2 * Math.PI / CANDIDATES);
+    private static final double STEP_SIN = Math.sin(2 * Math.PI / CANDIDATES);
+
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private int[] active = new int[64];
+    private int[] cells = new int[0]; // index ของจุดในแต่ละช่อง (-1 = ว่าง)
+    private int count;
+    private int candidatesTried;
+
+    // ตารางของการเรียกปัจจุบัน
+    private double cellSize;
+    private int columns;
+    private int rows;
+
+    // สุ่มตำแหน่งใน [0, width) x [0, height) ไม่เกิน maxAttempts ครั้ง หยุดเมื่อได้ wanted จุด คืนจำนวนจุดที่ได้
+    public int throwDarts(RandomGenerator random, double width, double height, double radius,
+                          int wanted, int maxAttempts) {
+        if (!prepare(width, height, radius)) return 0;
+        double radiusSq = radius * radius;
+        while (count < wanted && candidatesTried < maxAttempts) {
+            candidatesTried++;
+            double x = random.nextDouble() * width;
+            double y = random.nextDouble() * height;
+            if (isFarEnough(x, y, radiusSq)) add(x, y);
+        }
+        return count;
+    }
+
+    // สุ่มจุดให้เต็มสี่เหลี่ยม [0, width) x [0, height) คืนจำนวนจุด อ่านด้วย x(i)/y(i)
+    public int sample(RandomGenerator random, double width, double height, double radius) {
+        if (!prepare(width, height, radius)) return 0;
+
+        int activeCount = 0;
+        add(random.nextDouble() * width, random.nextDouble() * height);
+        active[activeCount++] = 0;
+
+        double radiusSq = radius * radius;
+        while (activeCount > 0) {
+            int slot = random.nextInt(activeCount);
+            int p = active[slot];
+            boolean placed = false;
+
+            double angle = random.nextDouble() * Math.PI * 2;
+            double dirX = Math.cos(angle);
+            double dirY = Math.sin(angle);
+            for (int k = 0; k < CANDIDATES; k++) {
+                candidatesTried++;
+                // ตัวเลือกในวงแหวน [radius, 1.5*radius) รอบจุด p
+                double distance = radius * (1 + 0.5 * random.nextDouble());
+                double cx = xs[p] + dirX * distance;
+                double cy = ys[p] + dirY * distance;
+                double nextX = dirX * STEP_COS - dirY * STEP_SIN;
+                dirY = dirX * STEP_SIN + dirY * STEP_COS;
+                dirX = nextX;
+                if (cx < 0 || cy < 0 || cx >= width || cy >= height) continue;
+                if (!isFarEnough(cx, cy, radiusSq)) continue;
+
+                if (activeCount == active.length) active = Arrays.copyOf(active, activeCount * 2);
+                active[activeCount++] = add(cx, cy);
+                placed = true;
+                break;
+            }
+            // ไม่มีที่ว่างรอบจุดนี้แล้ว ถอดออกจากรายการ active (ย้ายตัวสุดท้ายมาแทน)
+            if (!placed) active[slot] = active[--activeCount];
+        }
+        return count;
+    }
+
+    public double x(int i) {
+        return xs[i];
+    }
+
+    public double y(int i) {
+        return ys[i];
+    }
+
+    // จำนวนตำแหน่งที่สุ่มทดลองในการเรียกครั้งล่าสุด
+    public int getCandidatesTried() {
+        return candidatesTried;
+    }
+
+    // ล้างผลเก่าและเตรียมตาราง (false = พื้นที่ว่างเปล่า)
+    private boolean prepare(double width, double height, double radius) {
+        count = 0;
+        candidatesTried = 0;
+        if (width <= 0 || height <= 0) return false;
+
+        cellSize = Math.max(1e-9, radius) / Math.sqrt(2);
+        columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        if (cells.length < columns * rows) cells = new int[columns * rows];
+        Arrays.fill(cells, 0, columns * rows, -1);
+        return true;
+    }
+
+    private int add(double x, double y) {
+        if (count == xs.length) {
+            xs = Arrays.copyOf(xs, count * 2);
+            ys = Arrays.copyOf(ys, count * 2);
+        }
+        xs[count] = x;
+        ys[count] = y;
+        cells[cell(y, rows) * columns + cell(x, columns)] = count;
+        return count++;
+    }
+
+    // จุดที่อยู่ใกล้พอจะชนได้ต้องอยู่ในช่องห่างไม่เกินสองช่อง
+    private boolean isFarEnough(double x, double y, double radiusSq) {
+        int column = cell(x, columns);
+        int row = cell(y, rows);
+        int r0 = Math.max(0, row - 2), r1 = Math.min(rows - 1, row + 2);
+        int c0 = Math.max(0, column - 2), c1 = Math.min(columns - 1, column + 2);
+        for (int r = r0; r <= r1; r++) {
+            int end = r * columns + c1;
+            for (int i = r * columns + c0; i <= end; i++) {
+                int other = cells[i];
+                if (other < 0) continue;
+                double dx = xs[other] - x;
+                double dy = ys[other] - y;
+                if (dx * dx + dy * dy < radiusSq) return false;
+            }
+        }
+        return true;
+    }
+
+    // ช่องของพิกัด (กันค่าปัดเศษที่ขอบขวา/ล่างหลุดออกนอกตาราง)
+    private int cell(double value, int limit) {
+        return Math.min(limit - 1, (int) (value / cellSize));
+    }
+}
@@ -2,28 +2,48 @@ package system;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 // จัดการระบบภาพ Puzzle ที่แสดงเมื่อผู้เล่นชนประตู
+// โหลดภาพเมื่อใช้จริง (หรือโหลดล่วงหน้าเบื้องหลังตอนเริ่มด่าน) และเก็บไว้ในแคช LRU ที่จำกัดขนาดเป็นไบต์
 public class Puzzle {
 
-    private static final int TOTAL = 9; // จำนวนภาพ Puzzle ทั้งหมด (1–9)
-    private final BufferedImage[] images = new BufferedImage[TOTAL];
+    private static final String PATH_FORMAT = "Pic/character/puzzle/pz%d.png";
+
+    // LRU ตามลำดับการใช้งาน (accessOrder = true) ตัวแรกคือภาพที่ไม่ได้ใช้นานที่สุด
+    private final Map<Integer, AssetHandle> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final long budgetBytes;
+    private long cachedBytes;
+
+    // เธรดเดียวสำหรับโหลดล่วงหน้า (daemon ไม่ขวางการปิดโปรแกรม)
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "puzzle-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private BufferedImage active; // ภาพที่กำลังแสดงอยู่ในขณะนั้น
 
     public Puzzle() {
-        loadImages(); // โหลดภาพทั้งหมดตั้งแต่เริ่มต้น
+        this(Config.PUZZLE_CACHE_BYTES);
+    }
+
+    public Puzzle(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
     }
 
-    // แสดงภาพ Puzzle ตามหมายเลขที่ระบุ (1–9)
+    // แสดงภาพ Puzzle ตามหมายเลขที่ระบุ (ถ้ายังไม่ได้โหลดจะโหลดทันที)
     public void show(Integer number) {
-        if (number == null || number < 1 || number > TOTAL) {
+        if (number == null || number < 1) {
             active = null;
             return;
         }
-        active = images[number - 1];
+        active = image(number);
     }
 
     // ล้างภาพที่กำลังแสดงอยู่
@@ -31,6 +51,66 @@ public class Puzzle {
         active = null;
     }
 
+    // โหลดภาพของหมายเลขที่ด่านเลือกไว้ล่วงหน้าบนเธรดเบื้องหลัง
+    public void prefetch(Collection<Integer> numbers) {
+        for (Integer number : numbers) {
+            if (number == null || number < 1 || isCached(number)) continue;
+            prefetcher.execute(() -> image(number));
+        }
+    }
+
+    // ดึงภาพจากแคช ถ้าไม่มีให้โหลดแล้วใส่แคช (คืน null ถ้าไฟล์ไม่มี)
+    private BufferedImage image(int number) {
+        synchronized (cache) {
+            AssetHandle handle = cache.get(number);
+            if (handle != null) return handle.image();
+        }
+
+        // ถอดรหัสนอก lock ของแคช (AssetManager ก็ถอดรหัสนอก lock ของตัวเอง) เธรดเกมจึงไม่ต้องรอ prefetch ของภาพอื่น
+        AssetHandle loaded = AssetManager.acquire(String.format(PATH_FORMAT, number));
+        synchronized (cache) {
+            AssetHandle existing = cache.get(number);
+            if (existing != null) {
+                loaded.release(); // อีกเธรดโหลดเสร็จก่อน ใช้ของเดิม
+                return existing.image();
+            }
+            cache.put(number, loaded);
+            cachedBytes += loaded.bytes();
+            evictOverBudget();
+            return loaded.image();
+        }
+    }
+
+    // คืนภาพที่ไม่ได้ใช้นานที่สุดจนกว่าขนาดรวมจะอยู่ในงบ (เก็บภาพล่าสุดไว้อย่างน้อยหนึ่งภาพ)
+    private void evictOverBudget() {
+        Iterator<AssetHandle> it = cache.values().iterator();
+        while (cachedBytes > budgetBytes && cache.size() > 1 && it.hasNext()) {
+            AssetHandle eldest = it.next();
+            it.remove();
+            cachedBytes -= eldest.bytes();
+            eldest.release();
+        }
+    }
+
+    private boolean isCached(int number) {
+        synchronized (cache) {
+            return cache.containsKey(number);
+        }
+    }
+
+    // จำนวนภาพและขนาดรวมในแคช (ใช้ตรวจว่าหน่วยความจำไม่โตตามจำนวนพัซเซิล)
+    public int cachedCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public long cachedBytes() {
+        synchronized (cache) {
+            return cachedBytes;
+        }
+    }
+
     // วาดภาพ Puzzle บนหน้าจอโดยมีพื้นมืดโปร่งแสง
     public void draw(Graphics2D g, int width, int height) {
         if (active == null) return;
@@ -43,18 +123,4 @@ public class Puzzle {
 
         g.setClip(oldClip);                 // คืนค่า clip เดิม
     }
-
-    // โหลดภาพ Puzzle ทั้งหมดจากโฟลเดอร์
-    private void loadImages() {
-        for (int i = 1; i <= TOTAL; i++) {
-            try {
-                // โหลดภาพ pz1.png ถึง pz9.png จากโฟลเดอร์ Pic/character/puzzle
-                images[i - 1] = ImageIO.read(
-                        new File(String.format("Pic/character/puzzle/pz%d.png", i))
-                );
-            } catch (IOException ex) {
-                images[i - 1] = null; // ถ้าโหลดไม่ได้ให้เป็น null เพื่อป้องกัน error ตอนวาด
-            }
-        }
-    }
 }
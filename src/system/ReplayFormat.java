@@ -0,0 +1,46 @@
+package system;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * ReplayFormat — รูปแบบไฟล์บันทึกอินพุตที่ InputRecorder เขียนและ InputReplay อ่าน
+ * หัวไฟล์: MAGIC, VERSION, seed (8 ไบต์), ความกว้าง, ความสูง
+ * ตามด้วยเรคคอร์ด: [จำนวน tick ที่ผ่านไปจากเรคคอร์ดก่อนหน้า][ชนิด][ข้อมูลตามชนิด]
+ * ตัวเลขเป็น varint (7 บิตต่อไบต์ บิตสูง = มีไบต์ถัดไป) ยกเว้น seed และ state hash ที่เขียนเต็ม 8 ไบต์
+ * การกด/ปล่อยปุ่มหนึ่งครั้งจึงใช้ประมาณ 3 ไบต์
+ */
+public final class ReplayFormat {
+
+    private ReplayFormat() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    static final int MAGIC = 0x53445250; // "SDRP"
+    static final int VERSION = 1;
+
+    // ชนิดของเรคคอร์ด (tick ของอินพุต = ลำดับ tick ที่อินพุตถูกใช้ / tick ของ hash = จำนวน tick ที่จบไปแล้ว)
+    static final int KEY_PRESSED = 0;  // keyCode
+    static final int KEY_RELEASED = 1; // keyCode
+    static final int PASSWORD = 2;     // ความยาว + 1 (0 = กดยกเลิก) แล้วตามด้วยไบต์ UTF-8
+    static final int RESIZE = 3;       // ความกว้าง ความสูง
+    static final int CHECKPOINT = 4;   // state hash ระหว่างทาง (ใช้หาว่าเริ่มเพี้ยนที่ tick ไหน)
+    static final int END = 5;          // state hash ตอนหยุดบันทึก
+
+    static void writeVarint(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarint(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
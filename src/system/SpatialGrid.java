@@ -0,0 +1,107 @@
+package system;
+
+import java.util.Arrays;
+
+/**
+ * SpatialGrid — spatial hash แบบตารางช่องเท่ากัน สำหรับ broad-phase ของการชน
+ * ใส่ของเป็น id (ตัวเลข เช่น index ในลิสต์) พร้อมกรอบสี่เหลี่ยม แต่ละช่องเก็บ id เป็น linked list ในอาร์เรย์ int
+ * query คืนเฉพาะ id ในช่องที่กรอบค้นหาทับ (ไม่ซ้ำ) ผู้เรียกต้องตรวจการชนจริงอีกรอบ
+ * พิกัดที่อยู่นอกพื้นที่ถูกรวมไว้ในช่องริมสุด ทุกอาร์เรย์ขยายเมื่อจำเป็นแล้วใช้ซ้ำ จึงไม่สร้างอ็อบเจกต์ต่อ tick
+ * ใช้จากเธรดเดียว
+ */
+public class SpatialGrid {
+
+    private final int cellSize;
+    private int columns = 1;
+    private int rows = 1;
+    private int[] heads = {-1};     // entry แรกของแต่ละช่อง (-1 = ว่าง)
+
+    private int[] entryIds = new int[64];
+    private int[] entryNext = new int[64];
+    private int entryCount;
+
+    private int[] results = new int[16];
+    private int[] stamps = new int[16]; // ใช้กัน id ซ้ำในผลลัพธ์ (id ที่ถูกใส่แล้วใน query ครั้งนี้)
+    private int stamp;
+
+    public SpatialGrid(int cellSize) {
+        this.cellSize = Math.max(1, cellSize);
+    }
+
+    // กำหนดขนาดพื้นที่ใหม่ (ล้างของที่ใส่ไว้ทั้งหมด)
+    public void resize(int width, int height) {
+        columns = Math.max(1, (width + cellSize - 1) / cellSize);
+        rows = Math.max(1, (height + cellSize - 1) / cellSize);
+        if (heads.length < columns * rows) heads = new int[columns * rows];
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(heads, 0, columns * rows, -1);
+        entryCount = 0;
+    }
+
+    // ใส่ id พร้อมกรอบ (x, y, w, h) ลงทุกช่องที่กรอบทับ
+    public void insert(int id, int x, int y, int w, int h) {
+        if (id >= stamps.length) stamps = Arrays.copyOf(stamps, Math.max(id + 1, stamps.length * 2));
+        int c0 = column(x), c1 = column(x + Math.max(0, w - 1));
+        int r0 = row(y), r1 = row(y + Math.max(0, h - 1));
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                if (entryCount == entryIds.length) {
+                    entryIds = Arrays.copyOf(entryIds, entryCount * 2);
+                    entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+                }
+                int cell = r * columns + c;
+                entryIds[entryCount] = id;
+                entryNext[entryCount] = heads[cell];
+                heads[cell] = entryCount++;
+            }
+        }
+    }
+
+    // หา id ทั้งหมดที่อยู่ในช่องที่กรอบ (x, y, w, h) ทับ คืนจำนวน อ่านผลด้วย result(i)
+    public int query(int x, int y, int w, int h) {
+        if (++stamp == 0) { // วนรอบครบ int แล้ว ล้าง stamp เก่าทิ้ง
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        int count = 0;
+        int c0 = column(x), c1 = column(x + Math.max(0, w - 1));
+        int r0 = row(y), r1 = row(y + Math.max(0, h - 1));
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                for (int e = heads[r * columns + c]; e >= 0; e = entryNext[e]) {
+                    int id = entryIds[e];
+                    if (stamps[id] == stamp) continue;
+                    stamps[id] = stamp;
+                    if (count == results.length) results = Arrays.copyOf(results, count * 2);
+                    results[count++] = id;
+                }
+            }
+        }
+        return count;
+    }
+
+    // หา id ในช่องที่จุด (x, y) อยู่
+    public int queryPoint(int x, int y) {
+        return query(x, y, 1, 1);
+    }
+
+    // id ลำดับที่ i ของ query ล่าสุด
+    public int result(int i) {
+        return results[i];
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    private int column(int x) {
+        return Utils.clamp(Math.floorDiv(x, cellSize), 0, columns - 1);
+    }
+
+    private int row(int y) {
+        return Utils.clamp(Math.floorDiv(y, cellSize), 0, rows - 1);
+    }
+}
@@ -0,0 +1,105 @@
+package system;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SpriteCache — เก็บเฟรม sprite ที่ย่อ/ขยายและกลับด้านไว้แล้วตามขนาดที่วาดจริง
+ * สร้างภาพที่เข้ากับ GraphicsConfiguration ของจอเพียงครั้งเดียว แล้วรวมลง TextureAtlas
+ * ทำให้การวาดแต่ละเฟรมเป็นการ blit จากหน้า atlas ไม่ต้อง scale หรือใช้ AffineTransform
+ */
+public final class SpriteCache {
+
+    private static final int ATLAS_PAGE_SIZE = 2048; // ขนาดหน้า atlas (พิกเซล) ที่การ์ดจอทั่วไปรองรับ
+
+    private record Variant(int width, int height, boolean mirrored, AtlasRegion region) {}
+    private record FrameSet(int width, int height, boolean mirrored, AtlasRegion[] frames) {}
+
+    private static TextureAtlas atlas = new TextureAtlas(ATLAS_PAGE_SIZE);
+
+    // แคชระดับภาพ (ภาพต้นฉบับเดียวกันใช้ผลลัพธ์ร่วมกัน เช่น death กับ death_reverse)
+    private static final Map<BufferedImage, List<Variant>> IMAGES = new IdentityHashMap<>();
+    // แคชระดับชุดเฟรม (คืนอาร์เรย์เดิมทุกครั้ง ไม่ต้องสร้างใหม่ตอนวาด)
+    private static final Map<BufferedImage[], List<FrameSet>> FRAME_SETS = new IdentityHashMap<>();
+
+    private SpriteCache() {} // utility class ไม่ให้สร้างอ็อบเจกต์
+
+    // ดึงชุดเฟรมที่พร้อมวาดตามขนาดและทิศ (สร้างเฉพาะครั้งแรก)
+    public static synchronized AtlasRegion[] frames(BufferedImage[] source, int width, int height, boolean mirrored) {
+        List<FrameSet> sets = FRAME_SETS.computeIfAbsent(source, s -> new ArrayList<>());
+        for (int i = 0; i < sets.size(); i++) {
+            FrameSet set = sets.get(i);
+            if (set.width() == width && set.height() == height && set.mirrored() == mirrored) return set.frames();
+        }
+
+        AtlasRegion[] prepared = new AtlasRegion[source.length];
+        for (int i = 0; i < source.length; i++) {
+            prepared[i] = frame(source[i], width, height, mirrored);
+        }
+        sets.add(new FrameSet(width, height, mirrored, prepared));
+        return prepared;
+    }
+
+    // ดึงเฟรมเดี่ยวที่พร้อมวาด (คืน null ถ้าภาพต้นฉบับเป็น null)
+    public static synchronized AtlasRegion frame(BufferedImage source, int width, int height, boolean mirrored) {
+        if (source == null) return null;
+
+        List<Variant> variants = IMAGES.computeIfAbsent(source, s -> new ArrayList<>());
+        for (int i = 0; i < variants.size(); i++) {
+            Variant variant = variants.get(i);
+            if (variant.width() == width && variant.height() == height && variant.mirrored() == mirrored) return variant.region();
+        }
+
+        AtlasRegion region = atlas.insert(prepare(source, width, height, mirrored));
+        variants.add(new Variant(width, height, mirrored, region));
+        return region;
+    }
+
+    // สร้างภาพใหม่ตามขนาดที่วาดจริงโดยไม่เก็บลงแคช (เช่นพื้นหลังเต็มจอที่เปลี่ยนตามขนาดหน้าต่าง)
+    public static BufferedImage prepare(BufferedImage source, int width, int height, boolean mirrored) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+        BufferedImage image = createCompatible(width, height, source.getColorModel().getTransparency());
+
+        Graphics2D g = image.createGraphics();
+        if (mirrored) {
+            g.drawImage(source, width, 0, -width, height, null);
+        } else {
+            g.drawImage(source, 0, 0, width, height, null);
+        }
+        g.dispose();
+        return image;
+    }
+
+    // ล้างแคชทั้งหมด (เช่นเมื่อย้ายไปจอที่ GraphicsConfiguration ต่างกัน)
+    public static synchronized void clear() {
+        IMAGES.clear();
+        FRAME_SETS.clear();
+        atlas = new TextureAtlas(ATLAS_PAGE_SIZE);
+    }
+
+    // จำนวนหน้า atlas ที่ใช้อยู่ (ควรมีแค่ไม่กี่หน้า)
+    public static synchronized int atlasPageCount() {
+        return atlas.getPageCount();
+    }
+
+    // สร้างภาพที่ฟอร์แมตตรงกับจอ (ถ้าไม่มีจอ เช่นโหมด headless ใช้ ARGB แบบ premultiplied แทน)
+    static BufferedImage createCompatible(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice()
+                    .getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height, transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}
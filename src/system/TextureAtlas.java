@@ -0,0 +1,96 @@
+package system;
+
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TextureAtlas — รวมเฟรม sprite หลายภาพไว้ในภาพใหญ่ไม่กี่หน้า (page)
+ * จัดวางแบบ shelf ทีละภาพเมื่อถูกเพิ่มเข้ามา (ไม่ต้องรู้จำนวนภาพล่วงหน้า)
+ * ทำให้ Java2D เก็บ surface ไว้ใน VRAM ได้ไม่กี่ก้อน และไม่ต้องสลับ texture บ่อย
+ */
+public class TextureAtlas {
+
+    private static final int PADDING = 1; // ช่องว่างระหว่างเฟรม กันสีเลอะข้ามขอบ
+
+    // ชั้นวางหนึ่งแถวในหน้า atlas
+    private static final class Shelf {
+        final int y;
+        final int height;
+        int nextX;
+
+        Shelf(int y, int height) {
+            this.y = y;
+            this.height = height;
+        }
+    }
+
+    private final int pageSize;
+    private final List<BufferedImage> pages = new ArrayList<>();
+    private final List<Shelf> shelves = new ArrayList<>(); // ชั้นวางของหน้าปัจจุบัน
+    private int nextShelfY;
+
+    public TextureAtlas(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    // เพิ่มภาพลง atlas แล้วคืนตำแหน่งที่วางไว้ (ภาพที่ใหญ่กว่าหน้า atlas จะไม่ถูกรวม)
+    public AtlasRegion insert(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        if (w + PADDING > pageSize || h + PADDING > pageSize) {
+            return new AtlasRegion(image, 0, 0, w, h);
+        }
+
+        Shelf shelf = findShelf(w, h);
+        if (shelf == null) {
+            // หน้าปัจจุบันเต็ม เปิดหน้าใหม่
+            newPage();
+            shelf = findShelf(w, h);
+        }
+
+        int x = shelf.nextX;
+        shelf.nextX += w + PADDING;
+
+        BufferedImage page = pages.get(pages.size() - 1);
+        Graphics2D g = page.createGraphics();
+        g.drawImage(image, x, shelf.y, null);
+        g.dispose();
+        return new AtlasRegion(page, x, shelf.y, w, h);
+    }
+
+    // หาชั้นวางที่ใส่ภาพได้ หรือเปิดชั้นใหม่ถ้ายังมีที่ว่างด้านล่างของหน้า
+    private Shelf findShelf(int w, int h) {
+        if (pages.isEmpty()) return null;
+
+        for (int i = 0; i < shelves.size(); i++) {
+            Shelf shelf = shelves.get(i);
+            // ใช้ชั้นที่สูงพอแต่ไม่สูงเกินไปมาก เพื่อไม่ให้เสียพื้นที่
+            if (h <= shelf.height && h * 4 >= shelf.height * 3 && shelf.nextX + w + PADDING <= pageSize) {
+                return shelf;
+            }
+        }
+
+        if (nextShelfY + h + PADDING > pageSize) return null;
+        Shelf shelf = new Shelf(nextShelfY, h);
+        nextShelfY += h + PADDING;
+        shelves.add(shelf);
+        return shelf;
+    }
+
+    private void newPage() {
+        pages.add(SpriteCache.createCompatible(pageSize, pageSize, Transparency.TRANSLUCENT));
+        shelves.clear();
+        nextShelfY = 0;
+    }
+
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+}
@@ -0,0 +1,27 @@
+package system;
+
+// TickClock — GameClock ที่เดินหน้าทีละ tick คงที่ (ผู้เรียกเป็นคนสั่ง tick())
+public class TickClock implements GameClock {
+
+    private final long stepNanos; // ระยะเวลาจำลองของหนึ่ง tick
+    private long ticks;
+
+    public TickClock(int ticksPerSecond) {
+        this.stepNanos = 1_000_000_000L / Math.max(1, ticksPerSecond);
+    }
+
+    // เดินนาฬิกาไปหนึ่ง tick
+    public void tick() {
+        ticks++;
+    }
+
+    @Override
+    public long ticks() {
+        return ticks;
+    }
+
+    @Override
+    public long nanos() {
+        return ticks * stepNanos;
+    }
+}